@@ -0,0 +1,157 @@
+package dev.fumaz.commons.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The state tracking shared by the rate limiters
+ *
+ * @param <T> the type of the object
+ * @param <S> the type of the state of every object
+ */
+abstract class AbstractRateLimiter<T, S> implements RateLimiter<T> {
+
+    protected final int permits;
+    protected final long window;
+    protected final TimeUnit unit;
+    protected final TimeSource timeSource;
+
+    private final Map<T, S> states = new ConcurrentHashMap<>();
+    private final Function<T, S> factory = object -> createState();
+
+    protected AbstractRateLimiter(int permits, long window, TimeUnit unit, TimeSource timeSource) {
+        checkPermits(permits);
+
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+
+        this.permits = permits;
+        this.window = window;
+        this.unit = unit;
+        this.timeSource = timeSource;
+    }
+
+    /**
+     * @return a new state, for an object that has all of its permits
+     */
+    abstract S createState();
+
+    /**
+     * Retires a state if it has all of its permits available, so that it can be forgotten.<br>
+     * Retiring must be atomic with acquiring, and a retired state must never grant permits again:
+     * acquirers that see it call {@link #discard(Object, Object)} and fetch a new state instead.
+     *
+     * @param state the state
+     * @param now   the current time, in milliseconds
+     * @return whether the state was retired
+     */
+    abstract boolean retire(S state, long now);
+
+    /**
+     * Returns the state of an object, creating it if it is not tracked yet
+     *
+     * @param object the object
+     * @return the state
+     */
+    final S state(@NotNull T object) {
+        S state = states.get(object);
+
+        // ConcurrentHashMap#computeIfAbsent locks the bin even when the key is present on Java 8
+        return state != null ? state : states.computeIfAbsent(object, factory);
+    }
+
+    /**
+     * Stops tracking a retired state, so that the next call to {@link #state(Object)} creates a new one
+     *
+     * @param object the object
+     * @param state  the retired state
+     */
+    final void discard(@NotNull T object, S state) {
+        states.remove(object, state);
+    }
+
+    /**
+     * Checks the amount of permits requested by an acquirer
+     *
+     * @param permits the amount of permits
+     */
+    static void checkPermits(int permits) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("Permits must be positive");
+        }
+    }
+
+    /**
+     * Returns the state of an object without tracking it
+     *
+     * @param object the object
+     * @return the state, or null if the object is not tracked
+     */
+    final S peek(@NotNull T object) {
+        return states.get(object);
+    }
+
+    @Override
+    public void reset(@NotNull T object) {
+        states.remove(object);
+    }
+
+    @Override
+    public void resetAll() {
+        states.clear();
+    }
+
+    @Override
+    public void cleanUp() {
+        long now = timeSource.millis();
+
+        // Removing a state that is not retired first could hand out a fresh bucket
+        // while another thread is still spending permits from the old one
+        for (Map.Entry<T, S> entry : states.entrySet()) {
+            S state = entry.getValue();
+
+            if (retire(state, now)) {
+                states.remove(entry.getKey(), state);
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        return states.size();
+    }
+
+    /**
+     * @return the amount of permits in every window
+     */
+    public int getPermits() {
+        return permits;
+    }
+
+    /**
+     * @return the length of the window
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * @return the time unit of the window
+     */
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return the time source of the rate limiter
+     */
+    public TimeSource getTimeSource() {
+        return timeSource;
+    }
+
+}
@@ -0,0 +1,65 @@
+package dev.fumaz.commons.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link TimeSource} that caches the current time in a volatile field,
+ * updated by a background daemon thread at a fixed resolution.<br>
+ * Reading it costs a single volatile load, but the time it returns can be
+ * behind the real time by up to the resolution.
+ * <p>
+ * The background thread runs until {@link #close()} is called.
+ */
+public class CoarseTimeSource implements TimeSource, AutoCloseable {
+
+    private final long resolutionNanos;
+    private final Thread thread;
+    private volatile long millis;
+    private volatile boolean running = true;
+
+    public CoarseTimeSource(long resolution, TimeUnit unit) {
+        if (resolution <= 0) {
+            throw new IllegalArgumentException("Resolution must be positive");
+        }
+
+        this.resolutionNanos = unit.toNanos(resolution);
+        this.millis = System.currentTimeMillis();
+        this.thread = new Thread(this::tick, "CoarseTimeSource");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public CoarseTimeSource(long resolutionMillis) {
+        this(resolutionMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long millis() {
+        return millis;
+    }
+
+    /**
+     * @return the resolution of the time source, in milliseconds
+     */
+    public long getResolutionMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(resolutionNanos);
+    }
+
+    /**
+     * Stops the background thread, after which the time source no longer moves
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    private void tick() {
+        while (running) {
+            millis = System.currentTimeMillis();
+            LockSupport.parkNanos(this, resolutionNanos);
+        }
+    }
+
+}
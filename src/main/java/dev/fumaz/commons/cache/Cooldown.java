@@ -2,8 +2,17 @@ package dev.fumaz.commons.cache;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
 
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -16,16 +25,45 @@ public class Cooldown<T> {
     private final Cache<T, Long> cache;
     private final long delay;
     private final TimeUnit unit;
+    private final TimeSource timeSource;
+    private final Queue<T> expired = new ConcurrentLinkedQueue<>();
+    private volatile StatsCounter stats;
+    private volatile ExpirationListener<T> listener;
+    private volatile Executor executor;
 
-    public Cooldown(long delay, TimeUnit unit) {
+    public Cooldown(long delay, TimeUnit unit, TimeSource timeSource) {
         this.delay = delay;
         this.unit = unit;
+        this.timeSource = timeSource;
+
+        // Guava notifies expirations one at a time, they are buffered and delivered together once its cleanup is over
+        RemovalListener<T, Long> listener = notification -> {
+            if (notification.getCause() != RemovalCause.EXPIRED) {
+                return;
+            }
+
+            StatsCounter stats = this.stats;
+
+            if (stats != null) {
+                stats.recordExpirations(1);
+            }
+
+            if (this.listener != null) {
+                expired.add(notification.getKey());
+            }
+        };
 
         this.cache = CacheBuilder.newBuilder()
                 .expireAfterWrite(delay, unit)
+                .ticker(timeSource.asTicker())
+                .removalListener(listener)
                 .build();
     }
 
+    public Cooldown(long delay, TimeUnit unit) {
+        this(delay, unit, TimeSource.system());
+    }
+
     public Cooldown(long millis) {
         this(millis, TimeUnit.MILLISECONDS);
     }
@@ -36,7 +74,15 @@ public class Cooldown<T> {
      * @param object the object
      */
     public void put(T object) {
-        cache.put(object, System.currentTimeMillis());
+        cache.put(object, timeSource.millis());
+
+        StatsCounter stats = this.stats;
+
+        if (stats != null) {
+            stats.recordPut();
+        }
+
+        flushExpired();
     }
 
     /**
@@ -46,7 +92,15 @@ public class Cooldown<T> {
      * @return whether the object is on cooldown
      */
     public boolean has(T object) {
-        return cache.getIfPresent(object) != null;
+        boolean active = cache.getIfPresent(object) != null;
+        StatsCounter stats = this.stats;
+
+        if (stats != null) {
+            stats.recordCheck(active);
+        }
+
+        flushExpired();
+        return active;
     }
 
     /**
@@ -74,6 +128,44 @@ public class Cooldown<T> {
         cache.invalidateAll(iterable);
     }
 
+    /**
+     * Removes all the objects whose cooldown has expired, notifying the expiration listener if there is one.<br>
+     * Guava does this on its own during writes and every so many reads,
+     * but this can be called manually (e.g. once per tick) if the cooldown is mostly read.
+     */
+    public void cleanUp() {
+        cache.cleanUp();
+        flushExpired();
+    }
+
+    /**
+     * Sets the listener notified when objects come off cooldown,
+     * called on the thread that performs the cleanup.<br>
+     * Expirations are only detected by cleanups, so a cooldown that is mostly read
+     * should call {@link #cleanUp()} periodically.
+     *
+     * @param listener the listener, or null to remove it
+     */
+    public void setExpirationListener(@Nullable ExpirationListener<T> listener) {
+        setExpirationListener(listener, null);
+    }
+
+    /**
+     * Sets the listener notified when objects come off cooldown,
+     * called on the given executor.
+     *
+     * @param listener the listener, or null to remove it
+     * @param executor the executor, or null to call the listener on the thread that performs the cleanup
+     */
+    public void setExpirationListener(@Nullable ExpirationListener<T> listener, @Nullable Executor executor) {
+        this.executor = executor;
+        this.listener = listener;
+
+        if (listener == null) {
+            expired.clear();
+        }
+    }
+
     /**
      * @return the amount of objects on cooldown
      */
@@ -89,14 +181,14 @@ public class Cooldown<T> {
      * @return the amount of time left
      */
     public long get(T object, TimeUnit unit) {
-        long time = getInsertionTime(object);
+        Long time = cache.getIfPresent(object);
 
-        if (time == 0) {
-            return time;
+        if (time == null) {
+            return 0;
         }
 
         long delay = unit.convert(this.delay, this.unit);
-        return delay - unit.convert(System.currentTimeMillis() - time, TimeUnit.MILLISECONDS);
+        return delay - unit.convert(timeSource.millis() - time, TimeUnit.MILLISECONDS);
     }
 
     public long getMillis(T object) {
@@ -107,6 +199,47 @@ public class Cooldown<T> {
         return get(object, TimeUnit.SECONDS);
     }
 
+    /**
+     * Starts recording the statistics returned by {@link #stats()}
+     */
+    public synchronized void recordStats() {
+        if (stats == null) {
+            stats = new StatsCounter();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cooldown.<br>
+     * The average remaining time is computed by visiting every object, so this is O(n).
+     *
+     * @return the statistics
+     */
+    public CooldownStats stats() {
+        cleanUp();
+
+        long delay = unit.toMillis(this.delay);
+        long now = timeSource.millis();
+        long remaining = 0;
+        long size = 0;
+
+        for (long time : cache.asMap().values()) {
+            remaining += Math.max(0, delay - (now - time));
+            size++;
+        }
+
+        // A Guava cache entry, its share of the table and a boxed insertion time for every object
+        long memory = size * (64L + 8 + 16);
+
+        return StatsCounter.snapshot(stats, size, size == 0 ? 0 : remaining / size, memory);
+    }
+
+    /**
+     * @return the time source of the cooldown
+     */
+    public TimeSource getTimeSource() {
+        return timeSource;
+    }
+
     /**
      * @return the cache, as a map
      */
@@ -114,10 +247,29 @@ public class Cooldown<T> {
         return cache.asMap();
     }
 
-    private long getInsertionTime(T object) {
-        Long time = cache.getIfPresent(object);
+    private void flushExpired() {
+        if (expired.isEmpty()) {
+            return;
+        }
 
-        return time != null ? time : 0;
+        List<T> batch = new ArrayList<>();
+
+        for (T object = expired.poll(); object != null; object = expired.poll()) {
+            batch.add(object);
+        }
+
+        ExpirationListener<T> listener = this.listener;
+        Executor executor = this.executor;
+
+        if (batch.isEmpty() || listener == null) {
+            return;
+        }
+
+        if (executor == null) {
+            listener.onExpire(batch);
+        } else {
+            executor.execute(() -> listener.onExpire(batch));
+        }
     }
 
 }
@@ -0,0 +1,274 @@
+package dev.fumaz.commons.cache;
+
+import dev.fumaz.commons.collection.ImmutablePair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cooldown keyed by <b>two</b> objects, such as a player and an ability.<br>
+ * Both components are stored side by side in an open-addressed table,
+ * so lookups never allocate a key object like a {@link dev.fumaz.commons.collection.Pair}.
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ *
+ * @param <A> the type of the first object
+ * @param <B> the type of the second object
+ */
+public class Cooldown2<A, B> extends CooldownTable {
+
+    private Object[] firsts;
+    private Object[] seconds;
+    private List<ImmutablePair<A, B>> expired;
+    private ExpirationListener<ImmutablePair<A, B>> listener;
+    private Executor executor;
+
+    public Cooldown2(long delay, TimeUnit unit, TimeSource timeSource) {
+        super(delay, unit, timeSource);
+    }
+
+    public Cooldown2(long delay, TimeUnit unit) {
+        this(delay, unit, TimeSource.system());
+    }
+
+    public Cooldown2(long millis) {
+        this(millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Puts a pair of objects on cooldown
+     *
+     * @param first  the first object
+     * @param second the second object
+     */
+    public void put(@NotNull A first, @NotNull B second) {
+        cleanUp();
+        schedule(probe(first, second), deadline());
+    }
+
+    /**
+     * Puts a pair of objects on cooldown for a certain amount of time,
+     * replacing any cooldown it already had
+     *
+     * @param first    the first object
+     * @param second   the second object
+     * @param duration the duration of the cooldown
+     * @param unit     the time unit
+     * @throws IllegalArgumentException if the duration is negative
+     */
+    public void put(@NotNull A first, @NotNull B second, long duration, TimeUnit unit) {
+        long deadline = deadline(duration, unit);
+
+        cleanUp();
+        schedule(probe(first, second), deadline);
+    }
+
+    /**
+     * Returns if a pair of objects is on cooldown
+     *
+     * @param first  the first object
+     * @param second the second object
+     * @return whether the pair is on cooldown
+     */
+    public boolean has(A first, B second) {
+        return active(find(first, second));
+    }
+
+    /**
+     * Removes a pair of objects from the cooldown
+     *
+     * @param first  the first object
+     * @param second the second object
+     */
+    public void invalidate(A first, B second) {
+        int slot = find(first, second);
+
+        if (slot >= 0) {
+            remove(slot);
+        }
+    }
+
+    /**
+     * Removes every pair with the given first object from the cooldown.<br>
+     * This scans the whole table, so it is meant for rare events such as a player leaving.
+     *
+     * @param first the first object
+     */
+    public void invalidateAll(A first) {
+        for (int slot = 0; slot <= mask; slot++) {
+            if (states[slot] == FULL && firsts[slot].equals(first)) {
+                remove(slot);
+            }
+        }
+    }
+
+    /**
+     * Returns how long a pair of objects has left on cooldown
+     *
+     * @param first  the first object
+     * @param second the second object
+     * @param unit   the time unit
+     * @return the amount of time left
+     */
+    public long get(A first, B second, TimeUnit unit) {
+        return remaining(find(first, second), unit);
+    }
+
+    public long getMillis(A first, B second) {
+        return get(first, second, TimeUnit.MILLISECONDS);
+    }
+
+    public long getSeconds(A first, B second) {
+        return get(first, second, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Sets the listener notified when pairs come off cooldown,
+     * called on the thread that performs the cleanup.<br>
+     * Expirations are only detected by cleanups, so a cooldown that is mostly read
+     * should call {@link #cleanUp()} periodically.
+     *
+     * @param listener the listener, or null to remove it
+     */
+    public void setExpirationListener(@Nullable ExpirationListener<ImmutablePair<A, B>> listener) {
+        setExpirationListener(listener, null);
+    }
+
+    /**
+     * Sets the listener notified when pairs come off cooldown,
+     * called on the given executor.
+     *
+     * @param listener the listener, or null to remove it
+     * @param executor the executor, or null to call the listener on the thread that performs the cleanup
+     */
+    public void setExpirationListener(@Nullable ExpirationListener<ImmutablePair<A, B>> listener, @Nullable Executor executor) {
+        this.listener = listener;
+        this.executor = executor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void expired(int slot) {
+        if (listener == null) {
+            return;
+        }
+
+        if (expired == null) {
+            expired = new ArrayList<>();
+        }
+
+        expired.add(new ImmutablePair<>((A) firsts[slot], (B) seconds[slot]));
+    }
+
+    @Override
+    void flushExpired() {
+        List<ImmutablePair<A, B>> batch = expired;
+
+        if (batch == null) {
+            return;
+        }
+
+        expired = null;
+
+        ExpirationListener<ImmutablePair<A, B>> listener = this.listener;
+
+        if (executor == null) {
+            listener.onExpire(batch);
+        } else {
+            executor.execute(() -> listener.onExpire(batch));
+        }
+    }
+
+    @Override
+    int keyBytes() {
+        return 8;
+    }
+
+    @Override
+    void createKeys(int capacity) {
+        firsts = new Object[capacity];
+        seconds = new Object[capacity];
+    }
+
+    @Override
+    Object keys() {
+        return new Object[][]{firsts, seconds};
+    }
+
+    @Override
+    int hashKey(Object keys, int slot) {
+        Object[][] arrays = (Object[][]) keys;
+        return hash(arrays[0][slot], arrays[1][slot]);
+    }
+
+    @Override
+    void transferKey(Object keys, int from, int to) {
+        Object[][] arrays = (Object[][]) keys;
+        firsts[to] = arrays[0][from];
+        seconds[to] = arrays[1][from];
+    }
+
+    @Override
+    void clearKey(int slot) {
+        firsts[slot] = null;
+        seconds[slot] = null;
+    }
+
+    private static int hash(Object first, Object second) {
+        return mix(31L * first.hashCode() + second.hashCode());
+    }
+
+    private int find(Object first, Object second) {
+        int slot = hash(first, second) & mask;
+
+        while (true) {
+            byte state = states[slot];
+
+            if (state == FREE) {
+                return -1;
+            }
+
+            if (state == FULL && firsts[slot].equals(first) && seconds[slot].equals(second)) {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int probe(A first, B second) {
+        int slot = hash(first, second) & mask;
+        int removed = -1;
+
+        while (true) {
+            byte state = states[slot];
+
+            if (state == FREE) {
+                break;
+            }
+
+            if (state == FULL && firsts[slot].equals(first) && seconds[slot].equals(second)) {
+                return slot;
+            }
+
+            if (state == REMOVED && removed < 0) {
+                removed = slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (removed >= 0) {
+            slot = removed;
+        }
+
+        firsts[slot] = first;
+        seconds[slot] = second;
+        return ~slot;
+    }
+
+}
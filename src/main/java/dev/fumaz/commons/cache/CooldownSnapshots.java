@@ -0,0 +1,378 @@
+package dev.fumaz.commons.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Takes and restores snapshots of cooldowns, so they can survive a restart.
+ * <p>
+ * Snapshots store the time every key had left on cooldown, so the time spent
+ * between taking and restoring a snapshot does not count towards the cooldown.
+ * They are made of a header followed by blocks of entries, where every block starts
+ * with the amount of entries it holds and a block of 0 entries marks the end.
+ * Counts, durations and primitive keys are stored as variable-length integers,
+ * other keys are stored by a {@link KeyCodec}.
+ */
+public final class CooldownSnapshots {
+
+    private static final int MAGIC = 0x46434453;
+    private static final int VERSION = 1;
+
+    private CooldownSnapshots() {
+    }
+
+    /**
+     * Writes a snapshot of a cooldown to a channel, which is left open
+     *
+     * @param cooldown the cooldown
+     * @param codec    the codec of the keys
+     * @param channel  the channel
+     * @param <T>      the type of the keys
+     * @throws IOException if the snapshot could not be written
+     */
+    public static <T> void write(VariableCooldown<T> cooldown, KeyCodec<T> codec, WritableByteChannel channel) throws IOException {
+        DataOutputStream output = openOutput(channel);
+        writeBlock(output, cooldown, codec);
+        closeOutput(output);
+    }
+
+    /**
+     * Writes a snapshot of a cooldown to a channel, which is left open.<br>
+     * Every stripe is locked only while it is being written.
+     *
+     * @param cooldown the cooldown
+     * @param codec    the codec of the keys
+     * @param channel  the channel
+     * @param <T>      the type of the keys
+     * @throws IOException if the snapshot could not be written
+     */
+    public static <T> void write(StripedCooldown<T> cooldown, KeyCodec<T> codec, WritableByteChannel channel) throws IOException {
+        DataOutputStream output = openOutput(channel);
+
+        for (int index = 0; index < cooldown.getStripes(); index++) {
+            ReentrantLock lock = cooldown.lockStripe(index);
+
+            try {
+                VariableCooldown<T> stripe = cooldown.stripe(index);
+
+                if (stripe != null) {
+                    writeBlock(output, stripe, codec);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        closeOutput(output);
+    }
+
+    /**
+     * Writes a snapshot of a cooldown to a channel, which is left open
+     *
+     * @param cooldown the cooldown
+     * @param channel  the channel
+     * @throws IOException if the snapshot could not be written
+     */
+    public static void write(LongCooldown cooldown, WritableByteChannel channel) throws IOException {
+        writeTable(cooldown, (output, slot) -> writeVarLong(output, zigZag(cooldown.key(slot))), channel);
+    }
+
+    /**
+     * Writes a snapshot of a cooldown to a channel, which is left open
+     *
+     * @param cooldown the cooldown
+     * @param channel  the channel
+     * @throws IOException if the snapshot could not be written
+     */
+    public static void write(IntCooldown cooldown, WritableByteChannel channel) throws IOException {
+        writeTable(cooldown, (output, slot) -> writeVarLong(output, zigZag(cooldown.key(slot))), channel);
+    }
+
+    /**
+     * Restores a snapshot from a channel, which is left open,
+     * putting every key back on cooldown for the time it had left
+     *
+     * @param cooldown the cooldown
+     * @param codec    the codec of the keys
+     * @param channel  the channel
+     * @param <T>      the type of the keys
+     * @return the amount of restored keys
+     * @throws IOException if the snapshot could not be read
+     */
+    public static <T> long read(VariableCooldown<T> cooldown, KeyCodec<T> codec, ReadableByteChannel channel) throws IOException {
+        return read(channel, input -> cooldown.put(codec.read(input), readVarLong(input), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Restores a snapshot from a channel, which is left open,
+     * putting every key back on cooldown for the time it had left
+     *
+     * @param cooldown the cooldown
+     * @param codec    the codec of the keys
+     * @param channel  the channel
+     * @param <T>      the type of the keys
+     * @return the amount of restored keys
+     * @throws IOException if the snapshot could not be read
+     */
+    public static <T> long read(StripedCooldown<T> cooldown, KeyCodec<T> codec, ReadableByteChannel channel) throws IOException {
+        return read(channel, input -> cooldown.put(codec.read(input), readVarLong(input), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Restores a snapshot from a channel, which is left open,
+     * putting every key back on cooldown for the time it had left
+     *
+     * @param cooldown the cooldown
+     * @param channel  the channel
+     * @return the amount of restored keys
+     * @throws IOException if the snapshot could not be read
+     */
+    public static long read(LongCooldown cooldown, ReadableByteChannel channel) throws IOException {
+        return read(channel, input -> cooldown.put(unZigZag(readVarLong(input)), readVarLong(input), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Restores a snapshot from a channel, which is left open,
+     * putting every key back on cooldown for the time it had left
+     *
+     * @param cooldown the cooldown
+     * @param channel  the channel
+     * @return the amount of restored keys
+     * @throws IOException if the snapshot could not be read
+     */
+    public static long read(IntCooldown cooldown, ReadableByteChannel channel) throws IOException {
+        return read(channel, input -> cooldown.put((int) unZigZag(readVarLong(input)), readVarLong(input), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Writes a snapshot of a cooldown to a file, replacing it if it exists
+     *
+     * @param cooldown the cooldown
+     * @param codec    the codec of the keys
+     * @param path     the path of the file
+     * @param <T>      the type of the keys
+     * @throws IOException if the snapshot could not be written
+     */
+    public static <T> void write(VariableCooldown<T> cooldown, KeyCodec<T> codec, Path path) throws IOException {
+        try (FileChannel channel = openWrite(path)) {
+            write(cooldown, codec, channel);
+        }
+    }
+
+    /**
+     * Restores a snapshot from a file
+     *
+     * @param cooldown the cooldown
+     * @param codec    the codec of the keys
+     * @param path     the path of the file
+     * @param <T>      the type of the keys
+     * @return the amount of restored keys
+     * @throws IOException if the snapshot could not be read
+     */
+    public static <T> long read(VariableCooldown<T> cooldown, KeyCodec<T> codec, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(cooldown, codec, channel);
+        }
+    }
+
+    private static <T> void writeBlock(DataOutputStream output, VariableCooldown<T> cooldown, KeyCodec<T> codec) throws IOException {
+        long now = cooldown.getTimeSource().millis();
+        long count = 0;
+
+        for (TimerWheel.Node<T> node : cooldown.nodes()) {
+            if (node.deadline > now) {
+                count++;
+            }
+        }
+
+        writeVarLong(output, count);
+
+        if (count == 0) {
+            return;
+        }
+
+        for (TimerWheel.Node<T> node : cooldown.nodes()) {
+            if (node.deadline > now) {
+                codec.write(output, node.key);
+                writeVarLong(output, node.deadline - now);
+            }
+        }
+    }
+
+    private static void writeTable(CooldownTable cooldown, SlotWriter keys, WritableByteChannel channel) throws IOException {
+        DataOutputStream output = openOutput(channel);
+        long now = cooldown.now();
+        long count = 0;
+
+        for (int slot = 0; slot <= cooldown.mask; slot++) {
+            if (cooldown.states[slot] == CooldownTable.FULL && cooldown.deadlines[slot] > now) {
+                count++;
+            }
+        }
+
+        writeVarLong(output, count);
+
+        for (int slot = 0; slot <= cooldown.mask && count > 0; slot++) {
+            if (cooldown.states[slot] == CooldownTable.FULL && cooldown.deadlines[slot] > now) {
+                keys.write(output, slot);
+                writeVarLong(output, cooldown.deadlines[slot] - now);
+            }
+        }
+
+        closeOutput(output);
+    }
+
+    private static long read(ReadableByteChannel channel, EntryReader entries) throws IOException {
+        ChannelInput source = new ChannelInput(channel);
+
+        try {
+            DataInputStream input = new DataInputStream(source);
+            long restored = 0;
+
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Not a cooldown snapshot");
+            }
+
+            int version = input.readUnsignedByte();
+
+            if (version != VERSION) {
+                throw new IOException("Unsupported cooldown snapshot version " + version);
+            }
+
+            for (long count = readVarLong(input); count > 0; count = readVarLong(input)) {
+                for (long i = 0; i < count; i++) {
+                    entries.read(input);
+                    restored++;
+                }
+            }
+
+            return restored;
+        } finally {
+            source.release();
+        }
+    }
+
+    private static DataOutputStream openOutput(WritableByteChannel channel) throws IOException {
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+
+        return output;
+    }
+
+    private static void closeOutput(DataOutputStream output) throws IOException {
+        writeVarLong(output, 0);
+
+        // Only flush, closing the stream would close the channel
+        output.flush();
+    }
+
+    private static FileChannel openWrite(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    private static void writeVarLong(DataOutputStream output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        output.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream input) throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes the key stored in a slot of a primitive cooldown
+     */
+    @FunctionalInterface
+    private interface SlotWriter {
+
+        void write(DataOutputStream output, int slot) throws IOException;
+
+    }
+
+    /**
+     * Reads a key and the time it had left, and puts it back on cooldown
+     */
+    @FunctionalInterface
+    private interface EntryReader {
+
+        void read(DataInputStream input) throws IOException;
+
+    }
+
+    /**
+     * An unbuffered view of a channel, so that reading a snapshot never consumes what follows it.<br>
+     * Seekable channels are read in blocks, and moved back to the end of the snapshot once it is read.
+     */
+    private static final class ChannelInput extends InputStream {
+
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer;
+
+        private ChannelInput(ReadableByteChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(channel instanceof SeekableByteChannel ? 8192 : 1);
+            buffer.flip();
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (!buffer.hasRemaining()) {
+                buffer.clear();
+                int read = channel.read(buffer);
+                buffer.flip();
+
+                if (read < 0) {
+                    return -1;
+                }
+            }
+
+            return buffer.get() & 0xFF;
+        }
+
+        private void release() throws IOException {
+            if (buffer.hasRemaining()) {
+                SeekableByteChannel seekable = (SeekableByteChannel) channel;
+                seekable.position(seekable.position() - buffer.remaining());
+            }
+        }
+
+    }
+
+}
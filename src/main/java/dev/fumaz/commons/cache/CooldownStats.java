@@ -0,0 +1,127 @@
+package dev.fumaz.commons.cache;
+
+import dev.fumaz.commons.math.Bytes;
+
+/**
+ * An immutable snapshot of the statistics of a cooldown.<br>
+ * Counters are only recorded once {@code recordStats()} has been called on the cooldown,
+ * while the size, the average remaining time and the memory estimate are always computed.
+ */
+public final class CooldownStats {
+
+    private final long checks;
+    private final long hits;
+    private final long puts;
+    private final long expirations;
+    private final long size;
+    private final long averageRemainingMillis;
+    private final long estimatedMemory;
+
+    public CooldownStats(long checks, long hits, long puts, long expirations, long size, long averageRemainingMillis, long estimatedMemory) {
+        this.checks = checks;
+        this.hits = hits;
+        this.puts = puts;
+        this.expirations = expirations;
+        this.size = size;
+        this.averageRemainingMillis = averageRemainingMillis;
+        this.estimatedMemory = estimatedMemory;
+    }
+
+    /**
+     * @return how many times the cooldown was checked
+     */
+    public long getChecks() {
+        return checks;
+    }
+
+    /**
+     * @return how many checks found the object on cooldown
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return how many checks found the object not on cooldown
+     */
+    public long getMisses() {
+        return checks - hits;
+    }
+
+    /**
+     * @return the ratio of checks that found the object on cooldown, or 0 if there were no checks
+     */
+    public double getHitRate() {
+        return checks == 0 ? 0 : (double) hits / checks;
+    }
+
+    /**
+     * @return how many times an object was put on cooldown
+     */
+    public long getPuts() {
+        return puts;
+    }
+
+    /**
+     * @return how many objects were removed by a cleanup because their cooldown expired
+     */
+    public long getExpirations() {
+        return expirations;
+    }
+
+    /**
+     * @return the amount of objects on cooldown
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the average time the objects on cooldown have left, in milliseconds
+     */
+    public long getAverageRemainingMillis() {
+        return averageRemainingMillis;
+    }
+
+    /**
+     * @return a rough estimate of the memory used by the cooldown, in bytes, not counting the keys themselves
+     */
+    public long getEstimatedMemory() {
+        return estimatedMemory;
+    }
+
+    /**
+     * Combines these statistics with the ones of another cooldown
+     *
+     * @param other the other statistics
+     * @return the combined statistics
+     */
+    public CooldownStats plus(CooldownStats other) {
+        long size = this.size + other.size;
+        long averageRemainingMillis = size == 0 ? 0 : (this.averageRemainingMillis * this.size + other.averageRemainingMillis * other.size) / size;
+
+        return new CooldownStats(
+                checks + other.checks,
+                hits + other.hits,
+                puts + other.puts,
+                expirations + other.expirations,
+                size,
+                averageRemainingMillis,
+                estimatedMemory + other.estimatedMemory
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "CooldownStats{" +
+                "checks=" + checks +
+                ", hits=" + hits +
+                ", puts=" + puts +
+                ", expirations=" + expirations +
+                ", size=" + size +
+                ", averageRemainingMillis=" + averageRemainingMillis +
+                ", estimatedMemory=" + Bytes.toHumanReadableSize(estimatedMemory) +
+                '}';
+    }
+
+}
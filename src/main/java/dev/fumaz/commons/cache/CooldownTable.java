@@ -0,0 +1,432 @@
+package dev.fumaz.commons.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The storage shared by the primitive cooldowns.<br>
+ * Deadlines live in an open-addressed table, and every occupied slot is linked
+ * into a bucket of a hashed timer wheel so that expired slots can be removed
+ * without scanning the whole table.<br>
+ * Subclasses own the key arrays and the probing logic, this class owns everything else.
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+abstract class CooldownTable {
+
+    static final byte FREE = 0;
+    static final byte FULL = 1;
+    static final byte REMOVED = 2;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int NIL = -1;
+
+    protected final long delay;
+    protected final TimeUnit unit;
+    protected final TimeSource timeSource;
+
+    private final long delayMillis;
+    private final long tickMillis;
+    private final int[] wheel = new int[WHEEL_SIZE];
+
+    byte[] states;
+    long[] deadlines;
+    int mask;
+
+    private StatsCounter stats;
+    private int[] next;
+    private int[] previous;
+    private int size;
+    private int used;
+    private long sweptTick;
+
+    protected CooldownTable(long delay, TimeUnit unit, TimeSource timeSource) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("Delay cannot be negative");
+        }
+
+        this.delay = delay;
+        this.unit = unit;
+        this.timeSource = timeSource;
+        this.delayMillis = unit.toMillis(delay);
+        this.tickMillis = Math.max(1, (delayMillis + WHEEL_SIZE - 1) / WHEEL_SIZE);
+        this.sweptTick = now() / tickMillis - 1;
+
+        Arrays.fill(wheel, NIL);
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Mixes a hash so that sequential keys spread over the table
+     *
+     * @param hash the hash
+     * @return the mixed hash
+     */
+    static int mix(long hash) {
+        int mixed = (int) (hash ^ (hash >>> 32)) * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    /**
+     * Creates empty key arrays of the given capacity, replacing the current ones
+     *
+     * @param capacity the capacity
+     */
+    abstract void createKeys(int capacity);
+
+    /**
+     * @return the current key arrays, in whatever form the subclass wants them back in {@link #transferKey}
+     */
+    abstract Object keys();
+
+    /**
+     * Returns the hash of a key stored in an old set of key arrays
+     *
+     * @param keys the old key arrays
+     * @param slot the slot in the old arrays
+     * @return the hash of the key
+     */
+    abstract int hashKey(Object keys, int slot);
+
+    /**
+     * Copies a key from an old set of key arrays to the current ones
+     *
+     * @param keys the old key arrays
+     * @param from the slot in the old arrays
+     * @param to   the slot in the current arrays
+     */
+    abstract void transferKey(Object keys, int from, int to);
+
+    /**
+     * @return the size of the key arrays for every slot, in bytes
+     */
+    abstract int keyBytes();
+
+    /**
+     * Releases the key stored in a slot, only needed for keys that hold references
+     *
+     * @param slot the slot
+     */
+    void clearKey(int slot) {
+    }
+
+    /**
+     * Puts a slot returned by a probe on cooldown until the given deadline.
+     * A negative slot is the complement of a slot that does not contain the key yet,
+     * after which the caller must have already written the key into it.
+     *
+     * @param slot     the slot, or its complement if it is a new one
+     * @param deadline the deadline, in milliseconds
+     */
+    final void schedule(int slot, long deadline) {
+        if (slot >= 0) {
+            unlink(slot);
+        } else {
+            slot = ~slot;
+
+            if (states[slot] == FREE) {
+                used++;
+            }
+
+            states[slot] = FULL;
+            size++;
+        }
+
+        deadlines[slot] = deadline;
+        link(slot);
+
+        if (stats != null) {
+            stats.recordPut();
+        }
+
+        if (used > (mask + 1) >>> 1) {
+            rehash();
+        }
+    }
+
+    /**
+     * Removes the key stored in a slot
+     *
+     * @param slot the slot
+     */
+    final void remove(int slot) {
+        unlink(slot);
+        clearKey(slot);
+        states[slot] = REMOVED;
+        size--;
+    }
+
+    /**
+     * @return the deadline for a key put on cooldown right now
+     */
+    final long deadline() {
+        return deadline(delayMillis);
+    }
+
+    /**
+     * Returns the deadline for a key put on cooldown right now for a certain amount of time
+     *
+     * @param duration the duration
+     * @param unit     the time unit
+     * @return the deadline
+     * @throws IllegalArgumentException if the duration is negative
+     */
+    final long deadline(long duration, TimeUnit unit) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("Duration cannot be negative");
+        }
+
+        return deadline(unit.toMillis(duration));
+    }
+
+    private long deadline(long millis) {
+        long now = now();
+        long deadline = now + millis;
+
+        return deadline < now ? Long.MAX_VALUE : deadline;
+    }
+
+    /**
+     * Returns how long the key stored in a slot has left on cooldown
+     *
+     * @param slot the slot, or a negative number if the key is not stored
+     * @param unit the time unit
+     * @return the amount of time left, or 0 if the key is not on cooldown
+     */
+    final long remaining(int slot, TimeUnit unit) {
+        if (slot < 0) {
+            return 0;
+        }
+
+        long remaining = deadlines[slot] - now();
+        return remaining > 0 ? unit.convert(remaining, TimeUnit.MILLISECONDS) : 0;
+    }
+
+    /**
+     * Returns if the key stored in a slot is still on cooldown
+     *
+     * @param slot the slot, or a negative number if the key is not stored
+     * @return whether the key is on cooldown
+     */
+    final boolean active(int slot) {
+        boolean active = slot >= 0 && deadlines[slot] > now();
+
+        if (stats != null) {
+            stats.recordCheck(active);
+        }
+
+        return active;
+    }
+
+    /**
+     * Called by the sweep for every key whose cooldown expired, right before it is removed
+     *
+     * @param slot the slot of the key
+     */
+    void expired(int slot) {
+    }
+
+    /**
+     * Called once the sweep is over, to deliver the keys collected by {@link #expired(int)}
+     */
+    void flushExpired() {
+    }
+
+    /**
+     * Removes all the keys whose cooldown has expired, notifying the expiration listener if there is one.<br>
+     * This is done automatically when putting keys on cooldown,
+     * but can be called manually (e.g. once per tick) if the cooldown is mostly read.
+     */
+    public void cleanUp() {
+        long nowTick = now() / tickMillis;
+        long ticks = nowTick - 1 - sweptTick;
+
+        if (ticks <= 0) {
+            return;
+        }
+
+        long limit = nowTick * tickMillis;
+        int buckets = (int) Math.min(ticks, WHEEL_SIZE);
+        int expirations = 0;
+
+        for (int i = 1; i <= buckets; i++) {
+            int bucket = (int) ((sweptTick + i) & WHEEL_MASK);
+            int slot = wheel[bucket];
+
+            while (slot != NIL) {
+                int following = next[slot];
+
+                if (deadlines[slot] < limit) {
+                    expired(slot);
+                    remove(slot);
+                    expirations++;
+                }
+
+                slot = following;
+            }
+        }
+
+        sweptTick = nowTick - 1;
+
+        if (stats != null && expirations > 0) {
+            stats.recordExpirations(expirations);
+        }
+
+        flushExpired();
+    }
+
+    /**
+     * Clears all objects from cooldown
+     */
+    public void invalidateAll() {
+        allocate(INITIAL_CAPACITY);
+        Arrays.fill(wheel, NIL);
+    }
+
+    /**
+     * @return the amount of objects on cooldown, which may include objects that expired less than a tick ago
+     */
+    public long size() {
+        cleanUp();
+        return size;
+    }
+
+    /**
+     * Starts recording the statistics returned by {@link #stats()}
+     */
+    public void recordStats() {
+        if (stats == null) {
+            stats = new StatsCounter();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cooldown.<br>
+     * The average remaining time is computed by visiting every key, so this is O(n).
+     *
+     * @return the statistics
+     */
+    public CooldownStats stats() {
+        cleanUp();
+
+        long now = now();
+        long remaining = 0;
+        int active = 0;
+
+        for (int slot = 0; slot <= mask; slot++) {
+            if (states[slot] == FULL && deadlines[slot] > now) {
+                remaining += deadlines[slot] - now;
+                active++;
+            }
+        }
+
+        int capacity = mask + 1;
+        long memory = StatsCounter.arrayBytes(capacity, 1 + 8 + 4 + 4 + keyBytes())
+                + StatsCounter.arrayBytes(WHEEL_SIZE, 4);
+
+        return StatsCounter.snapshot(stats, active, active == 0 ? 0 : remaining / active, memory);
+    }
+
+    /**
+     * @return the default delay of the cooldown
+     */
+    public long getDelay() {
+        return delay;
+    }
+
+    /**
+     * @return the time unit of the default delay
+     */
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return the time source of the cooldown
+     */
+    public TimeSource getTimeSource() {
+        return timeSource;
+    }
+
+    final long now() {
+        return timeSource.millis();
+    }
+
+    private void link(int slot) {
+        int bucket = (int) ((deadlines[slot] / tickMillis) & WHEEL_MASK);
+        int head = wheel[bucket];
+
+        next[slot] = head;
+        previous[slot] = ~bucket;
+
+        if (head != NIL) {
+            previous[head] = slot;
+        }
+
+        wheel[bucket] = slot;
+    }
+
+    private void unlink(int slot) {
+        int before = previous[slot];
+        int after = next[slot];
+
+        if (before < 0) {
+            wheel[~before] = after;
+        } else {
+            next[before] = after;
+        }
+
+        if (after != NIL) {
+            previous[after] = before;
+        }
+    }
+
+    private void allocate(int capacity) {
+        states = new byte[capacity];
+        deadlines = new long[capacity];
+        next = new int[capacity];
+        previous = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+        used = 0;
+
+        createKeys(capacity);
+    }
+
+    private void rehash() {
+        int capacity = mask + 1;
+
+        if (size > capacity >>> 2) {
+            capacity <<= 1;
+        }
+
+        byte[] oldStates = states;
+        long[] oldDeadlines = deadlines;
+        Object oldKeys = keys();
+
+        allocate(capacity);
+        Arrays.fill(wheel, NIL);
+
+        for (int from = 0; from < oldStates.length; from++) {
+            if (oldStates[from] != FULL) {
+                continue;
+            }
+
+            int to = hashKey(oldKeys, from) & mask;
+
+            while (states[to] != FREE) {
+                to = (to + 1) & mask;
+            }
+
+            transferKey(oldKeys, from, to);
+            states[to] = FULL;
+            deadlines[to] = oldDeadlines[from];
+            used++;
+            size++;
+            link(to);
+        }
+    }
+
+}
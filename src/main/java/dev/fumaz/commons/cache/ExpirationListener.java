@@ -0,0 +1,21 @@
+package dev.fumaz.commons.cache;
+
+import java.util.List;
+
+/**
+ * A listener notified when objects come off cooldown.<br>
+ * Expirations are delivered in batches, one for every cleanup pass that expired something.
+ *
+ * @param <T> the type of the objects
+ */
+@FunctionalInterface
+public interface ExpirationListener<T> {
+
+    /**
+     * Called when objects come off cooldown
+     *
+     * @param objects the objects, never empty
+     */
+    void onExpire(List<T> objects);
+
+}
@@ -0,0 +1,102 @@
+package dev.fumaz.commons.cache;
+
+/**
+ * A count-min sketch of 4-bit counters, estimating how often keys were accessed recently.<br>
+ * Every counter is halved once the sketch has recorded ten times as many accesses as
+ * the cache can hold, so that old popularity fades away.
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(long maximumSize) {
+        int size = (int) Math.min(Math.max(maximumSize, 16), 1 << 30);
+        int length = Integer.highestOneBit(size - 1) << 1;
+
+        this.table = new long[length];
+        this.tableMask = length - 1;
+        this.sampleSize = (int) Math.min(10L * size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the estimated frequency of a key, between 0 and 15
+     *
+     * @param hash the hash of the key
+     * @return the estimated frequency
+     */
+    int frequency(int hash) {
+        int frequency = Integer.MAX_VALUE;
+
+        for (int i = 0; i < SEEDS.length; i++) {
+            int index = index(hash, i);
+            int offset = (start(hash) + i) << 2;
+
+            frequency = Math.min(frequency, (int) ((table[index] >>> offset) & 0xF));
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Records an access to a key
+     *
+     * @param hash the hash of the key
+     */
+    void increment(int hash) {
+        boolean added = false;
+
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(index(hash, i), (start(hash) + i) << 2);
+        }
+
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private static int start(int hash) {
+        // Every key uses four of the sixteen counters in a word, starting from a multiple of four
+        return (hash & 3) << 2;
+    }
+
+    private int index(int hash, int i) {
+        long mixed = (hash + SEEDS[i]) * SEEDS[i];
+        mixed += mixed >>> 32;
+
+        return (int) mixed & tableMask;
+    }
+
+    private boolean incrementAt(int index, int offset) {
+        long mask = 0xFL << offset;
+
+        if ((table[index] & mask) == mask) {
+            return false;
+        }
+
+        table[index] += 1L << offset;
+        return true;
+    }
+
+    private void reset() {
+        int odd = 0;
+
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+
+        additions = (additions >>> 1) - (odd >>> 2);
+    }
+
+}
@@ -0,0 +1,250 @@
+package dev.fumaz.commons.cache;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cooldown like {@link Cooldown}, specialized for {@code int} keys such as numeric ids.<br>
+ * Keys and deadlines are stored in primitive arrays and expired by a hashed timer wheel,
+ * so checking and putting keys never boxes or allocates.
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+public class IntCooldown extends CooldownTable {
+
+    private int[] keys;
+    private int[] expiredKeys = new int[16];
+    private int expiredCount;
+    private IntExpirationListener listener;
+    private Executor executor;
+
+    public IntCooldown(long delay, TimeUnit unit, TimeSource timeSource) {
+        super(delay, unit, timeSource);
+    }
+
+    public IntCooldown(long delay, TimeUnit unit) {
+        this(delay, unit, TimeSource.system());
+    }
+
+    public IntCooldown(long millis) {
+        this(millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Puts a key on cooldown
+     *
+     * @param key the key
+     */
+    public void put(int key) {
+        cleanUp();
+        schedule(probe(key), deadline());
+    }
+
+    /**
+     * Puts a key on cooldown for a certain amount of time,
+     * replacing any cooldown it already had
+     *
+     * @param key      the key
+     * @param duration the duration of the cooldown
+     * @param unit     the time unit
+     * @throws IllegalArgumentException if the duration is negative
+     */
+    public void put(int key, long duration, TimeUnit unit) {
+        long deadline = deadline(duration, unit);
+
+        cleanUp();
+        schedule(probe(key), deadline);
+    }
+
+    /**
+     * Returns if a key is on cooldown
+     *
+     * @param key the key
+     * @return whether the key is on cooldown
+     */
+    public boolean has(int key) {
+        return active(find(key));
+    }
+
+    /**
+     * Removes a key from the cooldown
+     *
+     * @param key the key
+     */
+    public void invalidate(int key) {
+        int slot = find(key);
+
+        if (slot >= 0) {
+            remove(slot);
+        }
+    }
+
+    /**
+     * Clears all keys in the array from cooldown
+     *
+     * @param keys the keys
+     */
+    public void invalidateAll(int... keys) {
+        for (int key : keys) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Returns how long a key has left on cooldown
+     *
+     * @param key  the key
+     * @param unit the time unit
+     * @return the amount of time left
+     */
+    public long get(int key, TimeUnit unit) {
+        return remaining(find(key), unit);
+    }
+
+    public long getMillis(int key) {
+        return get(key, TimeUnit.MILLISECONDS);
+    }
+
+    public long getSeconds(int key) {
+        return get(key, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Sets the listener notified when keys come off cooldown,
+     * called on the thread that performs the cleanup.<br>
+     * Expirations are only detected by cleanups, so a cooldown that is mostly read
+     * should call {@link #cleanUp()} periodically.
+     *
+     * @param listener the listener, or null to remove it
+     */
+    public void setExpirationListener(@Nullable IntExpirationListener listener) {
+        setExpirationListener(listener, null);
+    }
+
+    /**
+     * Sets the listener notified when keys come off cooldown,
+     * called on the given executor with a copy of the expired keys.
+     *
+     * @param listener the listener, or null to remove it
+     * @param executor the executor, or null to call the listener on the thread that performs the cleanup
+     */
+    public void setExpirationListener(@Nullable IntExpirationListener listener, @Nullable Executor executor) {
+        this.listener = listener;
+        this.executor = executor;
+    }
+
+    @Override
+    void expired(int slot) {
+        if (listener == null) {
+            return;
+        }
+
+        if (expiredCount == expiredKeys.length) {
+            expiredKeys = Arrays.copyOf(expiredKeys, expiredCount * 2);
+        }
+
+        expiredKeys[expiredCount++] = keys[slot];
+    }
+
+    @Override
+    void flushExpired() {
+        int length = expiredCount;
+
+        if (length == 0) {
+            return;
+        }
+
+        expiredCount = 0;
+
+        IntExpirationListener listener = this.listener;
+
+        if (executor == null) {
+            listener.onExpire(expiredKeys, length);
+            return;
+        }
+
+        int[] batch = Arrays.copyOf(expiredKeys, length);
+        executor.execute(() -> listener.onExpire(batch, length));
+    }
+
+    int key(int slot) {
+        return keys[slot];
+    }
+
+    @Override
+    int keyBytes() {
+        return 4;
+    }
+
+    @Override
+    void createKeys(int capacity) {
+        keys = new int[capacity];
+    }
+
+    @Override
+    Object keys() {
+        return keys;
+    }
+
+    @Override
+    int hashKey(Object keys, int slot) {
+        return mix(((int[]) keys)[slot]);
+    }
+
+    @Override
+    void transferKey(Object keys, int from, int to) {
+        this.keys[to] = ((int[]) keys)[from];
+    }
+
+    private int find(int key) {
+        int slot = mix(key) & mask;
+
+        while (true) {
+            byte state = states[slot];
+
+            if (state == FREE) {
+                return -1;
+            }
+
+            if (state == FULL && keys[slot] == key) {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int probe(int key) {
+        int slot = mix(key) & mask;
+        int removed = -1;
+
+        while (true) {
+            byte state = states[slot];
+
+            if (state == FREE) {
+                break;
+            }
+
+            if (state == FULL && keys[slot] == key) {
+                return slot;
+            }
+
+            if (state == REMOVED && removed < 0) {
+                removed = slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (removed >= 0) {
+            slot = removed;
+        }
+
+        keys[slot] = key;
+        return ~slot;
+    }
+
+}
@@ -0,0 +1,20 @@
+package dev.fumaz.commons.cache;
+
+/**
+ * A listener notified when {@code int} keys come off cooldown.<br>
+ * Expirations are delivered in batches, one for every cleanup pass that expired something.
+ */
+@FunctionalInterface
+public interface IntExpirationListener {
+
+    /**
+     * Called when keys come off cooldown.<br>
+     * Unless the listener runs on an executor, the array is reused by the cooldown
+     * and must not be kept after this method returns.
+     *
+     * @param keys   the keys, only the first {@code length} are valid
+     * @param length the amount of keys, never 0
+     */
+    void onExpire(int[] keys, int length);
+
+}
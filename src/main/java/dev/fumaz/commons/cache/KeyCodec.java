@@ -0,0 +1,69 @@
+package dev.fumaz.commons.cache;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Encodes and decodes the keys of a cooldown when taking or restoring a snapshot
+ *
+ * @param <T> the type of the keys
+ * @see CooldownSnapshots
+ */
+public interface KeyCodec<T> {
+
+    /**
+     * @return a codec for strings, stored as modified UTF-8
+     */
+    static KeyCodec<String> strings() {
+        return new KeyCodec<String>() {
+            @Override
+            public void write(DataOutput output, String key) throws IOException {
+                output.writeUTF(key);
+            }
+
+            @Override
+            public String read(DataInput input) throws IOException {
+                return input.readUTF();
+            }
+        };
+    }
+
+    /**
+     * @return a codec for unique ids, stored as two longs
+     */
+    static KeyCodec<UUID> uuids() {
+        return new KeyCodec<UUID>() {
+            @Override
+            public void write(DataOutput output, UUID key) throws IOException {
+                output.writeLong(key.getMostSignificantBits());
+                output.writeLong(key.getLeastSignificantBits());
+            }
+
+            @Override
+            public UUID read(DataInput input) throws IOException {
+                return new UUID(input.readLong(), input.readLong());
+            }
+        };
+    }
+
+    /**
+     * Writes a key
+     *
+     * @param output the output
+     * @param key    the key
+     * @throws IOException if the key could not be written
+     */
+    void write(DataOutput output, T key) throws IOException;
+
+    /**
+     * Reads a key
+     *
+     * @param input the input
+     * @return the key
+     * @throws IOException if the key could not be read
+     */
+    T read(DataInput input) throws IOException;
+
+}
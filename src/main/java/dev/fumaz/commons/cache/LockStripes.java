@@ -0,0 +1,89 @@
+package dev.fumaz.commons.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks guarding the stripes of a concurrent cooldown,
+ * counting how often threads had to wait for one.
+ */
+final class LockStripes {
+
+    private final ReentrantLock[] locks;
+    private final int shift;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+
+    LockStripes(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripes must be positive");
+        }
+
+        int size = Integer.highestOneBit(stripes);
+
+        if (size < stripes) {
+            size <<= 1;
+        }
+
+        this.locks = new ReentrantLock[size];
+        this.shift = 32 - Integer.numberOfTrailingZeros(size);
+
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * @return the default amount of stripes, four per available processor
+     */
+    static int defaultStripes() {
+        return Runtime.getRuntime().availableProcessors() * 4;
+    }
+
+    /**
+     * Returns the stripe of a hash, using its high bits so that the tables
+     * inside a stripe still see well distributed low bits
+     *
+     * @param hash the hash
+     * @return the index of the stripe
+     */
+    int index(int hash) {
+        return locks.length == 1 ? 0 : (hash * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Locks a stripe, counting the acquisition as contended if the lock was held by another thread
+     *
+     * @param index the index of the stripe
+     * @return the lock, to be unlocked by the caller
+     */
+    ReentrantLock lock(int index) {
+        ReentrantLock lock = locks[index];
+
+        if (!lock.tryLock()) {
+            contended.increment();
+            lock.lock();
+        }
+
+        acquisitions.increment();
+        return lock;
+    }
+
+    int size() {
+        return locks.length;
+    }
+
+    long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    long getContendedAcquisitions() {
+        return contended.sum();
+    }
+
+    void resetCounters() {
+        acquisitions.reset();
+        contended.reset();
+    }
+
+}
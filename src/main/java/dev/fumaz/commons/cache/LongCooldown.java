@@ -0,0 +1,250 @@
+package dev.fumaz.commons.cache;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cooldown like {@link Cooldown}, specialized for {@code long} keys such as entity ids.<br>
+ * Keys and deadlines are stored in primitive arrays and expired by a hashed timer wheel,
+ * so checking and putting keys never boxes or allocates.
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+public class LongCooldown extends CooldownTable {
+
+    private long[] keys;
+    private long[] expiredKeys = new long[16];
+    private int expiredCount;
+    private LongExpirationListener listener;
+    private Executor executor;
+
+    public LongCooldown(long delay, TimeUnit unit, TimeSource timeSource) {
+        super(delay, unit, timeSource);
+    }
+
+    public LongCooldown(long delay, TimeUnit unit) {
+        this(delay, unit, TimeSource.system());
+    }
+
+    public LongCooldown(long millis) {
+        this(millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Puts a key on cooldown
+     *
+     * @param key the key
+     */
+    public void put(long key) {
+        cleanUp();
+        schedule(probe(key), deadline());
+    }
+
+    /**
+     * Puts a key on cooldown for a certain amount of time,
+     * replacing any cooldown it already had
+     *
+     * @param key      the key
+     * @param duration the duration of the cooldown
+     * @param unit     the time unit
+     * @throws IllegalArgumentException if the duration is negative
+     */
+    public void put(long key, long duration, TimeUnit unit) {
+        long deadline = deadline(duration, unit);
+
+        cleanUp();
+        schedule(probe(key), deadline);
+    }
+
+    /**
+     * Returns if a key is on cooldown
+     *
+     * @param key the key
+     * @return whether the key is on cooldown
+     */
+    public boolean has(long key) {
+        return active(find(key));
+    }
+
+    /**
+     * Removes a key from the cooldown
+     *
+     * @param key the key
+     */
+    public void invalidate(long key) {
+        int slot = find(key);
+
+        if (slot >= 0) {
+            remove(slot);
+        }
+    }
+
+    /**
+     * Clears all keys in the array from cooldown
+     *
+     * @param keys the keys
+     */
+    public void invalidateAll(long... keys) {
+        for (long key : keys) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Returns how long a key has left on cooldown
+     *
+     * @param key  the key
+     * @param unit the time unit
+     * @return the amount of time left
+     */
+    public long get(long key, TimeUnit unit) {
+        return remaining(find(key), unit);
+    }
+
+    public long getMillis(long key) {
+        return get(key, TimeUnit.MILLISECONDS);
+    }
+
+    public long getSeconds(long key) {
+        return get(key, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Sets the listener notified when keys come off cooldown,
+     * called on the thread that performs the cleanup.<br>
+     * Expirations are only detected by cleanups, so a cooldown that is mostly read
+     * should call {@link #cleanUp()} periodically.
+     *
+     * @param listener the listener, or null to remove it
+     */
+    public void setExpirationListener(@Nullable LongExpirationListener listener) {
+        setExpirationListener(listener, null);
+    }
+
+    /**
+     * Sets the listener notified when keys come off cooldown,
+     * called on the given executor with a copy of the expired keys.
+     *
+     * @param listener the listener, or null to remove it
+     * @param executor the executor, or null to call the listener on the thread that performs the cleanup
+     */
+    public void setExpirationListener(@Nullable LongExpirationListener listener, @Nullable Executor executor) {
+        this.listener = listener;
+        this.executor = executor;
+    }
+
+    @Override
+    void expired(int slot) {
+        if (listener == null) {
+            return;
+        }
+
+        if (expiredCount == expiredKeys.length) {
+            expiredKeys = Arrays.copyOf(expiredKeys, expiredCount * 2);
+        }
+
+        expiredKeys[expiredCount++] = keys[slot];
+    }
+
+    @Override
+    void flushExpired() {
+        int length = expiredCount;
+
+        if (length == 0) {
+            return;
+        }
+
+        expiredCount = 0;
+
+        LongExpirationListener listener = this.listener;
+
+        if (executor == null) {
+            listener.onExpire(expiredKeys, length);
+            return;
+        }
+
+        long[] batch = Arrays.copyOf(expiredKeys, length);
+        executor.execute(() -> listener.onExpire(batch, length));
+    }
+
+    long key(int slot) {
+        return keys[slot];
+    }
+
+    @Override
+    int keyBytes() {
+        return 8;
+    }
+
+    @Override
+    void createKeys(int capacity) {
+        keys = new long[capacity];
+    }
+
+    @Override
+    Object keys() {
+        return keys;
+    }
+
+    @Override
+    int hashKey(Object keys, int slot) {
+        return mix(((long[]) keys)[slot]);
+    }
+
+    @Override
+    void transferKey(Object keys, int from, int to) {
+        this.keys[to] = ((long[]) keys)[from];
+    }
+
+    private int find(long key) {
+        int slot = mix(key) & mask;
+
+        while (true) {
+            byte state = states[slot];
+
+            if (state == FREE) {
+                return -1;
+            }
+
+            if (state == FULL && keys[slot] == key) {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int probe(long key) {
+        int slot = mix(key) & mask;
+        int removed = -1;
+
+        while (true) {
+            byte state = states[slot];
+
+            if (state == FREE) {
+                break;
+            }
+
+            if (state == FULL && keys[slot] == key) {
+                return slot;
+            }
+
+            if (state == REMOVED && removed < 0) {
+                removed = slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (removed >= 0) {
+            slot = removed;
+        }
+
+        keys[slot] = key;
+        return ~slot;
+    }
+
+}
@@ -0,0 +1,270 @@
+package dev.fumaz.commons.cache;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Cooldown2} specialized for a {@code long} and an {@code int} key,
+ * such as an entity id and an ability id.<br>
+ * Both components and the deadlines are stored in primitive arrays,
+ * so checking and putting keys never boxes or allocates.
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+public class LongIntCooldown extends CooldownTable {
+
+    private long[] firsts;
+    private int[] seconds;
+    private long[] expiredFirsts = new long[16];
+    private int[] expiredSeconds = new int[16];
+    private int expiredCount;
+    private LongIntExpirationListener listener;
+    private Executor executor;
+
+    public LongIntCooldown(long delay, TimeUnit unit, TimeSource timeSource) {
+        super(delay, unit, timeSource);
+    }
+
+    public LongIntCooldown(long delay, TimeUnit unit) {
+        this(delay, unit, TimeSource.system());
+    }
+
+    public LongIntCooldown(long millis) {
+        this(millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Puts a pair of keys on cooldown
+     *
+     * @param first  the first key
+     * @param second the second key
+     */
+    public void put(long first, int second) {
+        cleanUp();
+        schedule(probe(first, second), deadline());
+    }
+
+    /**
+     * Puts a pair of keys on cooldown for a certain amount of time,
+     * replacing any cooldown it already had
+     *
+     * @param first    the first key
+     * @param second   the second key
+     * @param duration the duration of the cooldown
+     * @param unit     the time unit
+     * @throws IllegalArgumentException if the duration is negative
+     */
+    public void put(long first, int second, long duration, TimeUnit unit) {
+        long deadline = deadline(duration, unit);
+
+        cleanUp();
+        schedule(probe(first, second), deadline);
+    }
+
+    /**
+     * Returns if a pair of keys is on cooldown
+     *
+     * @param first  the first key
+     * @param second the second key
+     * @return whether the pair is on cooldown
+     */
+    public boolean has(long first, int second) {
+        return active(find(first, second));
+    }
+
+    /**
+     * Removes a pair of keys from the cooldown
+     *
+     * @param first  the first key
+     * @param second the second key
+     */
+    public void invalidate(long first, int second) {
+        int slot = find(first, second);
+
+        if (slot >= 0) {
+            remove(slot);
+        }
+    }
+
+    /**
+     * Removes every pair with the given first key from the cooldown.<br>
+     * This scans the whole table, so it is meant for rare events such as a player leaving.
+     *
+     * @param first the first key
+     */
+    public void invalidateAll(long first) {
+        for (int slot = 0; slot <= mask; slot++) {
+            if (states[slot] == FULL && firsts[slot] == first) {
+                remove(slot);
+            }
+        }
+    }
+
+    /**
+     * Returns how long a pair of keys has left on cooldown
+     *
+     * @param first  the first key
+     * @param second the second key
+     * @param unit   the time unit
+     * @return the amount of time left
+     */
+    public long get(long first, int second, TimeUnit unit) {
+        return remaining(find(first, second), unit);
+    }
+
+    public long getMillis(long first, int second) {
+        return get(first, second, TimeUnit.MILLISECONDS);
+    }
+
+    public long getSeconds(long first, int second) {
+        return get(first, second, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Sets the listener notified when pairs come off cooldown,
+     * called on the thread that performs the cleanup.<br>
+     * Expirations are only detected by cleanups, so a cooldown that is mostly read
+     * should call {@link #cleanUp()} periodically.
+     *
+     * @param listener the listener, or null to remove it
+     */
+    public void setExpirationListener(@Nullable LongIntExpirationListener listener) {
+        setExpirationListener(listener, null);
+    }
+
+    /**
+     * Sets the listener notified when pairs come off cooldown,
+     * called on the given executor with a copy of the expired pairs.
+     *
+     * @param listener the listener, or null to remove it
+     * @param executor the executor, or null to call the listener on the thread that performs the cleanup
+     */
+    public void setExpirationListener(@Nullable LongIntExpirationListener listener, @Nullable Executor executor) {
+        this.listener = listener;
+        this.executor = executor;
+    }
+
+    @Override
+    void expired(int slot) {
+        if (listener == null) {
+            return;
+        }
+
+        if (expiredCount == expiredFirsts.length) {
+            expiredFirsts = Arrays.copyOf(expiredFirsts, expiredCount * 2);
+            expiredSeconds = Arrays.copyOf(expiredSeconds, expiredCount * 2);
+        }
+
+        expiredFirsts[expiredCount] = firsts[slot];
+        expiredSeconds[expiredCount] = seconds[slot];
+        expiredCount++;
+    }
+
+    @Override
+    void flushExpired() {
+        int length = expiredCount;
+
+        if (length == 0) {
+            return;
+        }
+
+        expiredCount = 0;
+
+        LongIntExpirationListener listener = this.listener;
+
+        if (executor == null) {
+            listener.onExpire(expiredFirsts, expiredSeconds, length);
+            return;
+        }
+
+        long[] firsts = Arrays.copyOf(expiredFirsts, length);
+        int[] seconds = Arrays.copyOf(expiredSeconds, length);
+        executor.execute(() -> listener.onExpire(firsts, seconds, length));
+    }
+
+    @Override
+    int keyBytes() {
+        return 12;
+    }
+
+    @Override
+    void createKeys(int capacity) {
+        firsts = new long[capacity];
+        seconds = new int[capacity];
+    }
+
+    @Override
+    Object keys() {
+        return new Object[]{firsts, seconds};
+    }
+
+    @Override
+    int hashKey(Object keys, int slot) {
+        Object[] arrays = (Object[]) keys;
+        return hash(((long[]) arrays[0])[slot], ((int[]) arrays[1])[slot]);
+    }
+
+    @Override
+    void transferKey(Object keys, int from, int to) {
+        Object[] arrays = (Object[]) keys;
+        firsts[to] = ((long[]) arrays[0])[from];
+        seconds[to] = ((int[]) arrays[1])[from];
+    }
+
+    private static int hash(long first, int second) {
+        return mix(first * 0x9E3779B97F4A7C15L + second);
+    }
+
+    private int find(long first, int second) {
+        int slot = hash(first, second) & mask;
+
+        while (true) {
+            byte state = states[slot];
+
+            if (state == FREE) {
+                return -1;
+            }
+
+            if (state == FULL && firsts[slot] == first && seconds[slot] == second) {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int probe(long first, int second) {
+        int slot = hash(first, second) & mask;
+        int removed = -1;
+
+        while (true) {
+            byte state = states[slot];
+
+            if (state == FREE) {
+                break;
+            }
+
+            if (state == FULL && firsts[slot] == first && seconds[slot] == second) {
+                return slot;
+            }
+
+            if (state == REMOVED && removed < 0) {
+                removed = slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (removed >= 0) {
+            slot = removed;
+        }
+
+        firsts[slot] = first;
+        seconds[slot] = second;
+        return ~slot;
+    }
+
+}
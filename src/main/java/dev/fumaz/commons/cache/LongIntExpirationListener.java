@@ -0,0 +1,21 @@
+package dev.fumaz.commons.cache;
+
+/**
+ * A listener notified when pairs of a {@code long} and an {@code int} key come off cooldown.<br>
+ * Expirations are delivered in batches, one for every cleanup pass that expired something.
+ */
+@FunctionalInterface
+public interface LongIntExpirationListener {
+
+    /**
+     * Called when pairs come off cooldown.<br>
+     * Unless the listener runs on an executor, the arrays are reused by the cooldown
+     * and must not be kept after this method returns.
+     *
+     * @param firsts  the first keys, only the first {@code length} are valid
+     * @param seconds the second keys, only the first {@code length} are valid
+     * @param length  the amount of pairs, never 0
+     */
+    void onExpire(long[] firsts, int[] seconds, int length);
+
+}
@@ -0,0 +1,48 @@
+package dev.fumaz.commons.cache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link TimeSource} that only moves when told to, useful for deterministic tests
+ */
+public class ManualTimeSource implements TimeSource {
+
+    private volatile long millis;
+
+    public ManualTimeSource(long millis) {
+        this.millis = millis;
+    }
+
+    public ManualTimeSource() {
+        this(0);
+    }
+
+    @Override
+    public long millis() {
+        return millis;
+    }
+
+    /**
+     * Sets the current time
+     *
+     * @param millis the time, in milliseconds
+     */
+    public void set(long millis) {
+        this.millis = millis;
+    }
+
+    /**
+     * Moves the current time forward
+     *
+     * @param amount the amount of time
+     * @param unit   the time unit
+     */
+    public synchronized void advance(long amount, TimeUnit unit) {
+        millis += unit.toMillis(amount);
+    }
+
+    public void advanceMillis(long millis) {
+        advance(millis, TimeUnit.MILLISECONDS);
+    }
+
+}
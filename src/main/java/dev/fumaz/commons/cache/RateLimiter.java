@@ -0,0 +1,71 @@
+package dev.fumaz.commons.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Limits how many actions every object can perform in a window of time.<br>
+ * Where a {@link Cooldown} only allows one action until it expires,
+ * a rate limiter allows a number of them, replenished over time.
+ * <p>
+ * All implementations are thread-safe and do not allocate when acquiring
+ * permits for an object that is already tracked.
+ *
+ * @param <T> the type of the object
+ * @see TokenBucketRateLimiter
+ * @see SlidingLogRateLimiter
+ * @see SlidingWindowRateLimiter
+ */
+public interface RateLimiter<T> {
+
+    /**
+     * Acquires a single permit for an object, if it is available
+     *
+     * @param object the object
+     * @return whether the permit was acquired
+     */
+    default boolean tryAcquire(@NotNull T object) {
+        return tryAcquire(object, 1);
+    }
+
+    /**
+     * Acquires a number of permits for an object, if they are all available.
+     * Either all the permits are acquired, or none are.
+     *
+     * @param object  the object
+     * @param permits the amount of permits
+     * @return whether the permits were acquired
+     */
+    boolean tryAcquire(@NotNull T object, int permits);
+
+    /**
+     * Returns how many permits an object could acquire right now
+     *
+     * @param object the object
+     * @return the amount of available permits
+     */
+    int available(@NotNull T object);
+
+    /**
+     * Forgets an object, giving it all of its permits back
+     *
+     * @param object the object
+     */
+    void reset(@NotNull T object);
+
+    /**
+     * Forgets all objects
+     */
+    void resetAll();
+
+    /**
+     * Forgets all the objects that have all of their permits available,
+     * to release the memory of objects that are no longer active
+     */
+    void cleanUp();
+
+    /**
+     * @return the amount of tracked objects
+     */
+    long size();
+
+}
@@ -0,0 +1,76 @@
+package dev.fumaz.commons.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A lossy buffer of the reads that could not be applied to a cache policy right away,
+ * replayed by whichever thread next holds the policy lock.<br>
+ * Reads are spread over stripes by thread, and every stripe is a small ring
+ * where a read overwrites the oldest one if nobody drained it in time.
+ *
+ * @param <E> the type of the elements
+ */
+final class ReadBuffer<E> {
+
+    private static final int STRIPE_SIZE = 32;
+    private static final int STRIPE_MASK = STRIPE_SIZE - 1;
+    private static final int MAX_STRIPES = 64;
+
+    // Counters are spaced 64 bytes apart so that stripes do not share a cache line
+    private static final int COUNTER_SPACING = 8;
+
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray counters;
+    private final int stripeMask;
+    private volatile boolean pending;
+
+    ReadBuffer() {
+        int stripes = Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1, MAX_STRIPES);
+
+        this.slots = new AtomicReferenceArray<>(stripes * STRIPE_SIZE);
+        this.counters = new AtomicLongArray(stripes * COUNTER_SPACING);
+        this.stripeMask = stripes - 1;
+    }
+
+    /**
+     * Records a read
+     *
+     * @param element the element that was read
+     */
+    void offer(E element) {
+        long id = Thread.currentThread().getId();
+        int stripe = (int) (id ^ (id >>> 32)) * 0x9E3779B9 >>> 16 & stripeMask;
+        long index = counters.getAndIncrement(stripe * COUNTER_SPACING);
+
+        slots.lazySet(stripe * STRIPE_SIZE + (int) (index & STRIPE_MASK), element);
+
+        if (!pending) {
+            pending = true;
+        }
+    }
+
+    /**
+     * Replays every recorded read, removing it from the buffer.<br>
+     * Must only be called by one thread at a time.
+     *
+     * @param consumer the consumer of the reads
+     */
+    void drain(Consumer<? super E> consumer) {
+        if (!pending) {
+            return;
+        }
+
+        pending = false;
+
+        for (int i = 0; i < slots.length(); i++) {
+            E element = slots.getAndSet(i, null);
+
+            if (element != null) {
+                consumer.accept(element);
+            }
+        }
+    }
+
+}
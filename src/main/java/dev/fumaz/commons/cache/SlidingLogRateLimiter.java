@@ -0,0 +1,124 @@
+package dev.fumaz.commons.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link RateLimiter} that remembers when every permit was acquired,
+ * and allows at most {@code permits} of them in any window of time.<br>
+ * It is exact, at the cost of storing one timestamp per permit for every object,
+ * in a ring buffer allocated when the object is first seen.
+ *
+ * @param <T> the type of the object
+ */
+public class SlidingLogRateLimiter<T> extends AbstractRateLimiter<T, SlidingLogRateLimiter.Log> {
+
+    private final long windowMillis;
+
+    public SlidingLogRateLimiter(int permits, long window, TimeUnit unit, TimeSource timeSource) {
+        super(permits, window, unit, timeSource);
+        this.windowMillis = Math.max(1, unit.toMillis(window));
+    }
+
+    public SlidingLogRateLimiter(int permits, long window, TimeUnit unit) {
+        this(permits, window, unit, TimeSource.system());
+    }
+
+    @Override
+    public boolean tryAcquire(@NotNull T object, int permits) {
+        checkPermits(permits);
+
+        if (permits > this.permits) {
+            return false;
+        }
+
+        long now = timeSource.millis();
+
+        while (true) {
+            Log log = state(object);
+
+            synchronized (log) {
+                if (log.retired) {
+                    discard(object, log);
+                    continue;
+                }
+
+                log.evict(now - windowMillis);
+
+                if (log.size + permits > this.permits) {
+                    return false;
+                }
+
+                for (int i = 0; i < permits; i++) {
+                    log.add(now);
+                }
+
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public int available(@NotNull T object) {
+        Log log = peek(object);
+
+        if (log == null) {
+            return permits;
+        }
+
+        synchronized (log) {
+            if (log.retired) {
+                return permits;
+            }
+
+            log.evict(timeSource.millis() - windowMillis);
+            return permits - log.size;
+        }
+    }
+
+    @Override
+    Log createState() {
+        return new Log(permits);
+    }
+
+    @Override
+    boolean retire(Log log, long now) {
+        synchronized (log) {
+            log.evict(now - windowMillis);
+            log.retired = log.size == 0;
+
+            return log.retired;
+        }
+    }
+
+    /**
+     * The timestamps of the permits acquired by an object, oldest first
+     */
+    static final class Log {
+
+        private final long[] times;
+        private int head;
+        private int size;
+        private boolean retired;
+
+        private Log(int capacity) {
+            this.times = new long[capacity];
+        }
+
+        private void evict(long threshold) {
+            while (size > 0 && times[head] <= threshold) {
+                head = head + 1 == times.length ? 0 : head + 1;
+                size--;
+            }
+        }
+
+        private void add(long time) {
+            int tail = head + size;
+            times[tail >= times.length ? tail - times.length : tail] = time;
+            size++;
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+package dev.fumaz.commons.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link RateLimiter} that counts permits in fixed windows, and estimates
+ * the count of the sliding window by weighting the previous window
+ * by how much of it still overlaps.<br>
+ * It only stores two counters per object, at the cost of being an approximation
+ * that assumes permits were acquired evenly during the previous window.
+ *
+ * @param <T> the type of the object
+ */
+public class SlidingWindowRateLimiter<T> extends AbstractRateLimiter<T, SlidingWindowRateLimiter.Counter> {
+
+    private final long windowMillis;
+
+    public SlidingWindowRateLimiter(int permits, long window, TimeUnit unit, TimeSource timeSource) {
+        super(permits, window, unit, timeSource);
+        this.windowMillis = Math.max(1, unit.toMillis(window));
+    }
+
+    public SlidingWindowRateLimiter(int permits, long window, TimeUnit unit) {
+        this(permits, window, unit, TimeSource.system());
+    }
+
+    @Override
+    public boolean tryAcquire(@NotNull T object, int permits) {
+        checkPermits(permits);
+
+        long now = timeSource.millis();
+
+        while (true) {
+            Counter counter = state(object);
+
+            synchronized (counter) {
+                if (counter.retired) {
+                    discard(object, counter);
+                    continue;
+                }
+
+                counter.roll(now, windowMillis);
+
+                if (counter.estimate(now, windowMillis) + permits > this.permits) {
+                    return false;
+                }
+
+                counter.current += permits;
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public int available(@NotNull T object) {
+        Counter counter = peek(object);
+
+        if (counter == null) {
+            return permits;
+        }
+
+        long now = timeSource.millis();
+
+        synchronized (counter) {
+            if (counter.retired) {
+                return permits;
+            }
+
+            counter.roll(now, windowMillis);
+            return Math.max(0, permits - counter.estimate(now, windowMillis));
+        }
+    }
+
+    @Override
+    Counter createState() {
+        return new Counter(timeSource.millis());
+    }
+
+    @Override
+    boolean retire(Counter counter, long now) {
+        synchronized (counter) {
+            counter.roll(now, windowMillis);
+            counter.retired = counter.estimate(now, windowMillis) == 0;
+
+            return counter.retired;
+        }
+    }
+
+    /**
+     * The permits acquired by an object in the current and previous window
+     */
+    static final class Counter {
+
+        private long start;
+        private int current;
+        private int previous;
+        private boolean retired;
+
+        private Counter(long start) {
+            this.start = start;
+        }
+
+        private void roll(long now, long window) {
+            long elapsed = (now - start) / window;
+
+            if (elapsed <= 0) {
+                return;
+            }
+
+            previous = elapsed == 1 ? current : 0;
+            current = 0;
+            start += elapsed * window;
+        }
+
+        private int estimate(long now, long window) {
+            long overlap = window - (now - start);
+
+            // Round up, so the estimate never lets more permits through than allowed
+            return (int) ((previous * overlap + window - 1) / window) + current;
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+package dev.fumaz.commons.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters behind {@link CooldownStats}, striped so that recording
+ * from many threads does not contend on a single field
+ */
+final class StatsCounter {
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    void recordCheck(boolean hit) {
+        checks.increment();
+
+        if (hit) {
+            hits.increment();
+        }
+    }
+
+    void recordPut() {
+        puts.increment();
+    }
+
+    void recordExpirations(int count) {
+        expirations.add(count);
+    }
+
+    /**
+     * Creates a snapshot of the counters
+     *
+     * @param counter                the counter, or null if statistics are not recorded
+     * @param size                   the amount of objects on cooldown
+     * @param averageRemainingMillis the average time left
+     * @param estimatedMemory        the estimated memory, in bytes
+     * @return the snapshot
+     */
+    static CooldownStats snapshot(StatsCounter counter, long size, long averageRemainingMillis, long estimatedMemory) {
+        if (counter == null) {
+            return new CooldownStats(0, 0, 0, 0, size, averageRemainingMillis, estimatedMemory);
+        }
+
+        return new CooldownStats(
+                counter.checks.sum(),
+                counter.hits.sum(),
+                counter.puts.sum(),
+                counter.expirations.sum(),
+                size,
+                averageRemainingMillis,
+                estimatedMemory
+        );
+    }
+
+    /**
+     * Estimates the size of an array, assuming 16 bytes of header
+     *
+     * @param length      the length of the array
+     * @param elementSize the size of an element, in bytes
+     * @return the estimated size, in bytes
+     */
+    static long arrayBytes(long length, int elementSize) {
+        return 16 + length * elementSize;
+    }
+
+}
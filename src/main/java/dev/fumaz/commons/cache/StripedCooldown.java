@@ -0,0 +1,459 @@
+package dev.fumaz.commons.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe {@link VariableCooldown}, split into stripes that are locked independently.<br>
+ * Threads only contend when they touch objects of the same stripe, and the cooldown
+ * counts how often that happens so the amount of stripes can be sized under load.
+ * Every stripe owns a timer wheel, so stripes are only created once an object is put in them.
+ *
+ * @param <T> the type of the object
+ */
+public class StripedCooldown<T> {
+
+    private final LockStripes stripes;
+    private final AtomicReferenceArray<VariableCooldown<T>> cooldowns;
+    private final AtomicReferenceArray<List<T>> expired;
+    private final long delay;
+    private final TimeUnit unit;
+    private final TimeSource timeSource;
+    private volatile ExpirationListener<T> listener;
+    private volatile Executor executor;
+    private volatile boolean recordingStats;
+
+    public StripedCooldown(long delay, TimeUnit unit, int stripes, TimeSource timeSource) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("Delay cannot be negative");
+        }
+
+        this.stripes = new LockStripes(stripes);
+        this.cooldowns = new AtomicReferenceArray<>(this.stripes.size());
+        this.expired = new AtomicReferenceArray<>(this.stripes.size());
+        this.delay = delay;
+        this.unit = unit;
+        this.timeSource = timeSource;
+    }
+
+    public StripedCooldown(long delay, TimeUnit unit, int stripes) {
+        this(delay, unit, stripes, TimeSource.system());
+    }
+
+    /**
+     * Creates a cooldown with four stripes per available processor
+     *
+     * @param delay the default delay
+     * @param unit  the time unit of the default delay
+     */
+    public StripedCooldown(long delay, TimeUnit unit) {
+        this(delay, unit, LockStripes.defaultStripes());
+    }
+
+    public StripedCooldown(long millis) {
+        this(millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Puts an object on cooldown for the default delay
+     *
+     * @param object the object
+     */
+    public void put(@NotNull T object) {
+        put(object, delay, unit);
+    }
+
+    /**
+     * Puts an object on cooldown for a certain amount of time,
+     * replacing any cooldown it already had
+     *
+     * @param object   the object
+     * @param duration the duration of the cooldown
+     * @param unit     the time unit
+     * @throws IllegalArgumentException if the duration is negative
+     */
+    public void put(@NotNull T object, long duration, TimeUnit unit) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("Duration cannot be negative");
+        }
+
+        int index = stripes.index(object.hashCode());
+        ReentrantLock lock = stripes.lock(index);
+
+        try {
+            create(index).put(object, duration, unit);
+        } finally {
+            unlock(index, lock);
+        }
+    }
+
+    /**
+     * Returns if an object is on cooldown
+     *
+     * @param object the object
+     * @return whether the object is on cooldown
+     */
+    public boolean has(@NotNull T object) {
+        int index = stripes.index(object.hashCode());
+        ReentrantLock lock = stripes.lock(index);
+
+        try {
+            VariableCooldown<T> cooldown = cooldowns.get(index);
+            return cooldown != null && cooldown.has(object);
+        } finally {
+            unlock(index, lock);
+        }
+    }
+
+    /**
+     * Removes an object from the cooldown
+     *
+     * @param object the object
+     */
+    public void invalidate(@NotNull T object) {
+        int index = stripes.index(object.hashCode());
+        ReentrantLock lock = stripes.lock(index);
+
+        try {
+            VariableCooldown<T> cooldown = cooldowns.get(index);
+
+            if (cooldown != null) {
+                cooldown.invalidate(object);
+            }
+        } finally {
+            unlock(index, lock);
+        }
+    }
+
+    /**
+     * Clears all objects from cooldown
+     */
+    public void invalidateAll() {
+        for (int index = 0; index < stripes.size(); index++) {
+            ReentrantLock lock = stripes.lock(index);
+
+            try {
+                VariableCooldown<T> cooldown = cooldowns.get(index);
+
+                if (cooldown != null) {
+                    cooldown.invalidateAll();
+                }
+            } finally {
+                unlock(index, lock);
+            }
+        }
+    }
+
+    /**
+     * Clears all objects in the iterable from cooldown
+     *
+     * @param iterable the iterable
+     */
+    public void invalidateAll(Iterable<T> iterable) {
+        for (T object : iterable) {
+            invalidate(object);
+        }
+    }
+
+    /**
+     * @return the amount of objects on cooldown, which may include objects that expired a few milliseconds ago
+     */
+    public long size() {
+        long size = 0;
+
+        for (int index = 0; index < stripes.size(); index++) {
+            ReentrantLock lock = stripes.lock(index);
+
+            try {
+                VariableCooldown<T> cooldown = cooldowns.get(index);
+
+                if (cooldown != null) {
+                    size += cooldown.size();
+                }
+            } finally {
+                unlock(index, lock);
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Returns how long an object has left on cooldown
+     *
+     * @param object the object
+     * @param unit   the time unit
+     * @return the amount of time left
+     */
+    public long get(@NotNull T object, TimeUnit unit) {
+        int index = stripes.index(object.hashCode());
+        ReentrantLock lock = stripes.lock(index);
+
+        try {
+            VariableCooldown<T> cooldown = cooldowns.get(index);
+            return cooldown != null ? cooldown.get(object, unit) : 0;
+        } finally {
+            unlock(index, lock);
+        }
+    }
+
+    public long getMillis(@NotNull T object) {
+        return get(object, TimeUnit.MILLISECONDS);
+    }
+
+    public long getSeconds(@NotNull T object) {
+        return get(object, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Removes all the objects whose cooldown has expired, one stripe at a time
+     */
+    public void cleanUp() {
+        for (int index = 0; index < stripes.size(); index++) {
+            ReentrantLock lock = stripes.lock(index);
+
+            try {
+                VariableCooldown<T> cooldown = cooldowns.get(index);
+
+                if (cooldown != null) {
+                    cooldown.cleanUp();
+                }
+            } finally {
+                unlock(index, lock);
+            }
+        }
+    }
+
+    /**
+     * Sets the listener notified when objects come off cooldown,
+     * called on the thread that performs the cleanup once its stripe has been unlocked
+     *
+     * @param listener the listener, or null to remove it
+     * @see #setExpirationListener(ExpirationListener, Executor)
+     */
+    public void setExpirationListener(@Nullable ExpirationListener<T> listener) {
+        setExpirationListener(listener, null);
+    }
+
+    /**
+     * Sets the listener notified when objects come off cooldown.<br>
+     * Every stripe delivers its own batches once it has been unlocked, so the listener
+     * may be called by several threads at once, and may use the cooldown itself.
+     *
+     * @param listener the listener, or null to remove it
+     * @param executor the executor, or null to call the listener on the thread that performs the cleanup
+     * @see VariableCooldown#setExpirationListener(ExpirationListener, Executor)
+     */
+    public void setExpirationListener(@Nullable ExpirationListener<T> listener, @Nullable Executor executor) {
+        this.executor = executor;
+        this.listener = listener;
+
+        for (int index = 0; index < stripes.size(); index++) {
+            ReentrantLock lock = stripes.lock(index);
+
+            try {
+                VariableCooldown<T> cooldown = cooldowns.get(index);
+
+                if (cooldown != null) {
+                    cooldown.setExpirationListener(collector(index, listener));
+                }
+            } finally {
+                unlock(index, lock);
+            }
+        }
+    }
+
+    /**
+     * Starts recording the statistics returned by {@link #stats()} on every stripe
+     */
+    public void recordStats() {
+        recordingStats = true;
+
+        for (int index = 0; index < stripes.size(); index++) {
+            ReentrantLock lock = stripes.lock(index);
+
+            try {
+                VariableCooldown<T> cooldown = cooldowns.get(index);
+
+                if (cooldown != null) {
+                    cooldown.recordStats();
+                }
+            } finally {
+                unlock(index, lock);
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of all the stripes combined.<br>
+     * Every stripe is locked only while its own statistics are computed.
+     *
+     * @return the statistics
+     */
+    public CooldownStats stats() {
+        CooldownStats stats = StatsCounter.snapshot(null, 0, 0, 0);
+
+        for (int index = 0; index < stripes.size(); index++) {
+            ReentrantLock lock = stripes.lock(index);
+
+            try {
+                VariableCooldown<T> cooldown = cooldowns.get(index);
+
+                if (cooldown != null) {
+                    stats = stats.plus(cooldown.stats());
+                }
+            } finally {
+                unlock(index, lock);
+            }
+        }
+
+        return stats;
+    }
+
+    /**
+     * @return the amount of stripes, rounded up to a power of two
+     */
+    public int getStripes() {
+        return stripes.size();
+    }
+
+    /**
+     * @return how many times a stripe lock has been acquired
+     */
+    public long getAcquisitions() {
+        return stripes.getAcquisitions();
+    }
+
+    /**
+     * @return how many times a thread found its stripe locked by another thread and had to wait
+     */
+    public long getContendedAcquisitions() {
+        return stripes.getContendedAcquisitions();
+    }
+
+    /**
+     * Resets the acquisition counters
+     */
+    public void resetContentionCounters() {
+        stripes.resetCounters();
+    }
+
+    /**
+     * Returns a stripe, which must be locked by the caller
+     *
+     * @param index the index of the stripe
+     * @return the stripe, or null if nothing was ever put in it
+     */
+    @Nullable
+    VariableCooldown<T> stripe(int index) {
+        return cooldowns.get(index);
+    }
+
+    ReentrantLock lockStripe(int index) {
+        return stripes.lock(index);
+    }
+
+    /**
+     * @return the default delay of the cooldown
+     */
+    public long getDelay() {
+        return delay;
+    }
+
+    /**
+     * @return the time unit of the default delay
+     */
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return the time source of the cooldown
+     */
+    public TimeSource getTimeSource() {
+        return timeSource;
+    }
+
+    /**
+     * Returns a stripe, creating it if nothing was ever put in it.<br>
+     * Must be called with the stripe locked.
+     *
+     * @param index the index of the stripe
+     * @return the stripe
+     */
+    private VariableCooldown<T> create(int index) {
+        VariableCooldown<T> cooldown = cooldowns.get(index);
+
+        if (cooldown != null) {
+            return cooldown;
+        }
+
+        cooldown = new VariableCooldown<>(delay, unit, timeSource);
+        cooldown.setExpirationListener(collector(index, listener));
+
+        if (recordingStats) {
+            cooldown.recordStats();
+        }
+
+        cooldowns.set(index, cooldown);
+        return cooldown;
+    }
+
+    @Nullable
+    private ExpirationListener<T> collector(int index, @Nullable ExpirationListener<T> listener) {
+        if (listener == null) {
+            return null;
+        }
+
+        // Runs with the stripe locked, the batch is delivered by unlock
+        return objects -> {
+            List<T> batch = expired.get(index);
+
+            if (batch == null) {
+                expired.set(index, objects);
+            } else {
+                batch.addAll(objects);
+            }
+        };
+    }
+
+    /**
+     * Unlocks a stripe, then delivers the objects that expired while it was locked
+     *
+     * @param index the index of the stripe
+     * @param lock  the lock of the stripe
+     */
+    private void unlock(int index, ReentrantLock lock) {
+        List<T> batch = expired.get(index);
+
+        if (batch != null) {
+            expired.set(index, null);
+        }
+
+        lock.unlock();
+
+        if (batch == null) {
+            return;
+        }
+
+        ExpirationListener<T> listener = this.listener;
+        Executor executor = this.executor;
+
+        if (listener == null) {
+            return;
+        }
+
+        if (executor == null) {
+            listener.onExpire(batch);
+        } else {
+            executor.execute(() -> listener.onExpire(batch));
+        }
+    }
+
+}
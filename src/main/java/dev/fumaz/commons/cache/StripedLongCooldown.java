@@ -0,0 +1,368 @@
+package dev.fumaz.commons.cache;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe {@link LongCooldown}, split into stripes that are locked independently.<br>
+ * Threads only contend when they touch keys of the same stripe, and the cooldown
+ * counts how often that happens so the amount of stripes can be sized under load.
+ */
+public class StripedLongCooldown {
+
+    private final LockStripes stripes;
+    private final LongCooldown[] cooldowns;
+    private final long[][] expired;
+    private final long delay;
+    private final TimeUnit unit;
+    private final TimeSource timeSource;
+    private volatile LongExpirationListener listener;
+    private volatile Executor executor;
+
+    public StripedLongCooldown(long delay, TimeUnit unit, int stripes, TimeSource timeSource) {
+        this.stripes = new LockStripes(stripes);
+        this.cooldowns = new LongCooldown[this.stripes.size()];
+        this.expired = new long[this.stripes.size()][];
+        this.delay = delay;
+        this.unit = unit;
+        this.timeSource = timeSource;
+
+        for (int i = 0; i < cooldowns.length; i++) {
+            cooldowns[i] = new LongCooldown(delay, unit, timeSource);
+        }
+    }
+
+    public StripedLongCooldown(long delay, TimeUnit unit, int stripes) {
+        this(delay, unit, stripes, TimeSource.system());
+    }
+
+    public StripedLongCooldown(long delay, TimeUnit unit) {
+        this(delay, unit, LockStripes.defaultStripes());
+    }
+
+    public StripedLongCooldown(long millis) {
+        this(millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Puts a key on cooldown for the default delay
+     *
+     * @param key the key
+     */
+    public void put(long key) {
+        put(key, delay, unit);
+    }
+
+    /**
+     * Puts a key on cooldown for a certain amount of time,
+     * replacing any cooldown it already had
+     *
+     * @param key      the key
+     * @param duration the duration of the cooldown
+     * @param unit     the time unit
+     */
+    public void put(long key, long duration, TimeUnit unit) {
+        int index = stripes.index(CooldownTable.mix(key));
+        ReentrantLock lock = stripes.lock(index);
+
+        try {
+            cooldowns[index].put(key, duration, unit);
+        } finally {
+            unlock(index, lock);
+        }
+    }
+
+    /**
+     * Returns if a key is on cooldown
+     *
+     * @param key the key
+     * @return whether the key is on cooldown
+     */
+    public boolean has(long key) {
+        int index = stripes.index(CooldownTable.mix(key));
+        ReentrantLock lock = stripes.lock(index);
+
+        try {
+            return cooldowns[index].has(key);
+        } finally {
+            unlock(index, lock);
+        }
+    }
+
+    /**
+     * Removes a key from the cooldown
+     *
+     * @param key the key
+     */
+    public void invalidate(long key) {
+        int index = stripes.index(CooldownTable.mix(key));
+        ReentrantLock lock = stripes.lock(index);
+
+        try {
+            cooldowns[index].invalidate(key);
+        } finally {
+            unlock(index, lock);
+        }
+    }
+
+    /**
+     * Clears all keys from cooldown
+     */
+    public void invalidateAll() {
+        for (int index = 0; index < cooldowns.length; index++) {
+            ReentrantLock lock = stripes.lock(index);
+
+            try {
+                cooldowns[index].invalidateAll();
+            } finally {
+                unlock(index, lock);
+            }
+        }
+    }
+
+    /**
+     * Clears all keys in the array from cooldown
+     *
+     * @param keys the keys
+     */
+    public void invalidateAll(long... keys) {
+        for (long key : keys) {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * @return the amount of keys on cooldown, which may include keys that expired a few milliseconds ago
+     */
+    public long size() {
+        long size = 0;
+
+        for (int index = 0; index < cooldowns.length; index++) {
+            ReentrantLock lock = stripes.lock(index);
+
+            try {
+                size += cooldowns[index].size();
+            } finally {
+                unlock(index, lock);
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Returns how long a key has left on cooldown
+     *
+     * @param key  the key
+     * @param unit the time unit
+     * @return the amount of time left
+     */
+    public long get(long key, TimeUnit unit) {
+        int index = stripes.index(CooldownTable.mix(key));
+        ReentrantLock lock = stripes.lock(index);
+
+        try {
+            return cooldowns[index].get(key, unit);
+        } finally {
+            unlock(index, lock);
+        }
+    }
+
+    public long getMillis(long key) {
+        return get(key, TimeUnit.MILLISECONDS);
+    }
+
+    public long getSeconds(long key) {
+        return get(key, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Removes all the keys whose cooldown has expired, one stripe at a time
+     */
+    public void cleanUp() {
+        for (int index = 0; index < cooldowns.length; index++) {
+            ReentrantLock lock = stripes.lock(index);
+
+            try {
+                cooldowns[index].cleanUp();
+            } finally {
+                unlock(index, lock);
+            }
+        }
+    }
+
+    /**
+     * Sets the listener notified when keys come off cooldown,
+     * called on the thread that performs the cleanup once its stripe has been unlocked
+     *
+     * @param listener the listener, or null to remove it
+     * @see #setExpirationListener(LongExpirationListener, Executor)
+     */
+    public void setExpirationListener(@Nullable LongExpirationListener listener) {
+        setExpirationListener(listener, null);
+    }
+
+    /**
+     * Sets the listener notified when keys come off cooldown.<br>
+     * Every stripe delivers its own batches once it has been unlocked, so the listener
+     * may be called by several threads at once, and may use the cooldown itself.
+     *
+     * @param listener the listener, or null to remove it
+     * @param executor the executor, or null to call the listener on the thread that performs the cleanup
+     * @see LongCooldown#setExpirationListener(LongExpirationListener, Executor)
+     */
+    public void setExpirationListener(@Nullable LongExpirationListener listener, @Nullable Executor executor) {
+        this.executor = executor;
+        this.listener = listener;
+
+        for (int index = 0; index < cooldowns.length; index++) {
+            ReentrantLock lock = stripes.lock(index);
+
+            try {
+                cooldowns[index].setExpirationListener(listener != null ? collector(index) : null);
+            } finally {
+                unlock(index, lock);
+            }
+        }
+    }
+
+    /**
+     * Starts recording the statistics returned by {@link #stats()} on every stripe
+     */
+    public void recordStats() {
+        for (int index = 0; index < cooldowns.length; index++) {
+            ReentrantLock lock = stripes.lock(index);
+
+            try {
+                cooldowns[index].recordStats();
+            } finally {
+                unlock(index, lock);
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of all the stripes combined.<br>
+     * Every stripe is locked only while its own statistics are computed.
+     *
+     * @return the statistics
+     */
+    public CooldownStats stats() {
+        CooldownStats stats = null;
+
+        for (int index = 0; index < cooldowns.length; index++) {
+            ReentrantLock lock = stripes.lock(index);
+
+            try {
+                CooldownStats stripe = cooldowns[index].stats();
+                stats = stats == null ? stripe : stats.plus(stripe);
+            } finally {
+                unlock(index, lock);
+            }
+        }
+
+        return stats;
+    }
+
+    /**
+     * @return the amount of stripes, rounded up to a power of two
+     */
+    public int getStripes() {
+        return stripes.size();
+    }
+
+    /**
+     * @return how many times a stripe lock has been acquired
+     */
+    public long getAcquisitions() {
+        return stripes.getAcquisitions();
+    }
+
+    /**
+     * @return how many times a thread found its stripe locked by another thread and had to wait
+     */
+    public long getContendedAcquisitions() {
+        return stripes.getContendedAcquisitions();
+    }
+
+    /**
+     * Resets the acquisition counters
+     */
+    public void resetContentionCounters() {
+        stripes.resetCounters();
+    }
+
+    /**
+     * @return the default delay of the cooldown
+     */
+    public long getDelay() {
+        return delay;
+    }
+
+    /**
+     * @return the time unit of the default delay
+     */
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return the time source of the cooldown
+     */
+    public TimeSource getTimeSource() {
+        return timeSource;
+    }
+
+    private LongExpirationListener collector(int index) {
+        // Runs with the stripe locked and a reused array, the keys are copied and delivered by unlock
+        return (keys, length) -> {
+            long[] batch = expired[index];
+
+            if (batch == null) {
+                expired[index] = Arrays.copyOf(keys, length);
+            } else {
+                long[] merged = Arrays.copyOf(batch, batch.length + length);
+                System.arraycopy(keys, 0, merged, batch.length, length);
+                expired[index] = merged;
+            }
+        };
+    }
+
+    /**
+     * Unlocks a stripe, then delivers the keys that expired while it was locked
+     *
+     * @param index the index of the stripe
+     * @param lock  the lock of the stripe
+     */
+    private void unlock(int index, ReentrantLock lock) {
+        long[] batch = expired[index];
+
+        if (batch != null) {
+            expired[index] = null;
+        }
+
+        lock.unlock();
+
+        if (batch == null) {
+            return;
+        }
+
+        LongExpirationListener listener = this.listener;
+        Executor executor = this.executor;
+
+        if (listener == null) {
+            return;
+        }
+
+        if (executor == null) {
+            listener.onExpire(batch, batch.length);
+        } else {
+            executor.execute(() -> listener.onExpire(batch, batch.length));
+        }
+    }
+
+}
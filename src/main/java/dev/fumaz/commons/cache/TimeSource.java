@@ -0,0 +1,42 @@
+package dev.fumaz.commons.cache;
+
+import com.google.common.base.Ticker;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A source of the current time, in milliseconds, used by cooldowns.<br>
+ * Swapping it allows hot paths to read a cached clock instead of performing a system call,
+ * and tests to control time manually.
+ *
+ * @see CoarseTimeSource
+ * @see ManualTimeSource
+ */
+@FunctionalInterface
+public interface TimeSource {
+
+    /**
+     * @return a time source that reads {@link System#currentTimeMillis()} every time
+     */
+    static TimeSource system() {
+        return System::currentTimeMillis;
+    }
+
+    /**
+     * @return the current time, in milliseconds
+     */
+    long millis();
+
+    /**
+     * @return this time source as a Guava {@link Ticker}
+     */
+    default Ticker asTicker() {
+        return new Ticker() {
+            @Override
+            public long read() {
+                return TimeUnit.MILLISECONDS.toNanos(millis());
+            }
+        };
+    }
+
+}
@@ -0,0 +1,191 @@
+package dev.fumaz.commons.cache;
+
+/**
+ * A hierarchical timer wheel, storing nodes by their deadline.<br>
+ * Each level has 64 buckets, and every level spans 64 times the previous one:
+ * roughly one second, one minute, one hour, three days and six months.
+ * Nodes are placed on the finest level that can hold them and cascade down
+ * as time advances, so scheduling, rescheduling and removing are all O(1)
+ * regardless of how many different durations are in use.
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ *
+ * @param <K> the type of the keys
+ */
+final class TimerWheel<K> {
+
+    private static final int BUCKETS = 64;
+    private static final int MASK = BUCKETS - 1;
+    private static final int[] SHIFTS = {4, 10, 16, 22, 28};
+
+    static final int SENTINELS = BUCKETS * SHIFTS.length;
+
+    private final Node<K>[][] wheel;
+    private long time;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TimerWheel(long time) {
+        this.time = time;
+        this.wheel = new Node[SHIFTS.length][BUCKETS];
+
+        for (Node<K>[] level : wheel) {
+            for (int i = 0; i < BUCKETS; i++) {
+                level[i] = Node.sentinel();
+            }
+        }
+    }
+
+    /**
+     * Schedules a node, or reschedules it if its deadline changed
+     *
+     * @param node the node
+     */
+    void schedule(Node<K> node) {
+        if (node.previous != null) {
+            unlink(node);
+        }
+
+        long deadline = Math.max(node.deadline, time);
+        long delta = deadline - time;
+        int level = 0;
+
+        while (level < SHIFTS.length - 1 && delta >= 1L << (SHIFTS[level] + 6)) {
+            level++;
+        }
+
+        Node<K> sentinel = wheel[level][(int) ((deadline >>> SHIFTS[level]) & MASK)];
+        Node<K> last = sentinel.previous;
+
+        node.previous = last;
+        node.next = sentinel;
+        last.next = node;
+        sentinel.previous = node;
+    }
+
+    /**
+     * Removes a node from the wheel
+     *
+     * @param node the node
+     */
+    void deschedule(Node<K> node) {
+        if (node.previous != null) {
+            unlink(node);
+        }
+    }
+
+    /**
+     * Advances the wheel to the current time, removing every node whose deadline has passed.
+     * The removed nodes are returned as a chain linked through {@link Node#next}.
+     *
+     * @param now the current time, in milliseconds
+     * @return the first expired node, or null if none expired
+     */
+    Node<K> advance(long now) {
+        long previous = time;
+        Node<K> expired = null;
+
+        if (now <= previous) {
+            return null;
+        }
+
+        time = now;
+
+        for (int level = 0; level < SHIFTS.length; level++) {
+            long previousTicks = previous >>> SHIFTS[level];
+            long currentTicks = now >>> SHIFTS[level];
+
+            if (currentTicks == previousTicks) {
+                break;
+            }
+
+            int buckets = (int) Math.min(currentTicks - previousTicks + 1, BUCKETS);
+
+            for (int i = 0; i < buckets; i++) {
+                expired = expire(wheel[level][(int) ((previousTicks + i) & MASK)], now, expired);
+            }
+        }
+
+        return expired;
+    }
+
+    /**
+     * Removes every node from the wheel
+     */
+    void clear() {
+        for (Node<K>[] level : wheel) {
+            for (Node<K> sentinel : level) {
+                Node<K> node = sentinel.next;
+
+                while (node != sentinel) {
+                    Node<K> next = node.next;
+                    node.previous = null;
+                    node.next = null;
+                    node = next;
+                }
+
+                sentinel.previous = sentinel;
+                sentinel.next = sentinel;
+            }
+        }
+    }
+
+    private Node<K> expire(Node<K> sentinel, long now, Node<K> expired) {
+        Node<K> node = sentinel.next;
+
+        // Detach the whole bucket first, so rescheduled nodes landing in it are not visited again
+        sentinel.previous = sentinel;
+        sentinel.next = sentinel;
+
+        while (node != sentinel) {
+            Node<K> next = node.next;
+            node.previous = null;
+            node.next = null;
+
+            if (node.deadline <= now) {
+                node.next = expired;
+                expired = node;
+            } else {
+                schedule(node);
+            }
+
+            node = next;
+        }
+
+        return expired;
+    }
+
+    private void unlink(Node<K> node) {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        node.previous = null;
+        node.next = null;
+    }
+
+    /**
+     * A key with a deadline, linked into one of the buckets of the wheel
+     *
+     * @param <K> the type of the key
+     */
+    static final class Node<K> {
+
+        final K key;
+        long deadline;
+        Node<K> previous;
+        Node<K> next;
+
+        Node(K key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+
+        private static <K> Node<K> sentinel() {
+            Node<K> sentinel = new Node<>(null, Long.MAX_VALUE);
+            sentinel.previous = sentinel;
+            sentinel.next = sentinel;
+
+            return sentinel;
+        }
+
+    }
+
+}
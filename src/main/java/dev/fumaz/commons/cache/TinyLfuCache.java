@@ -0,0 +1,570 @@
+package dev.fumaz.commons.cache;
+
+import dev.fumaz.commons.exception.Exceptions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A bounded loading cache that evicts using the W-TinyLFU policy.<br>
+ * New entries enter a small LRU window, and when they are pushed out of it they
+ * have to compete with the least recently used entry of the main space: whichever
+ * was accessed more often recently, according to a {@link FrequencySketch}, stays.
+ * The main space is a segmented LRU, where entries accessed twice are protected from eviction.
+ * <p>
+ * Reads never block: when another thread holds the policy lock, they are recorded
+ * in a lossy {@link ReadBuffer} and replayed by the next thread that acquires it.
+ * Loads are single-flight, so concurrent misses on the same key run the loader once.
+ * <p>
+ * Instances are created with a {@link TinyLfuCacheBuilder}.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class TinyLfuCache<K, V> {
+
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+    private static final byte RETIRED = 3;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final AtomicIntegerFieldUpdater<Node<?, ?>> REFRESHING = (AtomicIntegerFieldUpdater) AtomicIntegerFieldUpdater.newUpdater(Node.class, "refreshing");
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Function<? super K, ? extends V> loader;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final Executor executor;
+    private final TimeSource timeSource;
+    private final long refreshMillis;
+    private final long maximum;
+    private final long windowMaximum;
+    private final long mainMaximum;
+    private final long protectedMaximum;
+    private final FrequencySketch sketch;
+    private final ReadBuffer<Node<K, V>> reads = new ReadBuffer<>();
+    private final Consumer<Node<K, V>> replay = this::onRead;
+
+    private final Node<K, V> window = Node.sentinel();
+    private final Node<K, V> probation = Node.sentinel();
+    private final Node<K, V> protectedQueue = Node.sentinel();
+    private long windowWeight;
+    private long probationWeight;
+    private long protectedWeight;
+
+    TinyLfuCache(long maximum, ToIntBiFunction<? super K, ? super V> weigher, long refreshMillis, TimeSource timeSource, Executor executor, Function<? super K, ? extends V> loader) {
+        this.maximum = maximum;
+        this.weigher = weigher;
+        this.refreshMillis = refreshMillis;
+        this.timeSource = timeSource;
+        this.executor = executor;
+        this.loader = loader;
+        // Even the smallest caches need a window, or new entries could never displace old ones
+        this.windowMaximum = Math.max(1, maximum / 100);
+        this.mainMaximum = maximum - windowMaximum;
+        this.protectedMaximum = mainMaximum * 4 / 5;
+        this.sketch = new FrequencySketch(maximum);
+    }
+
+    /**
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @return a new builder
+     */
+    public static <K, V> TinyLfuCacheBuilder<K, V> builder() {
+        return new TinyLfuCacheBuilder<>();
+    }
+
+    /**
+     * Returns the value of a key, loading it if it is not cached.<br>
+     * If another thread is already loading the key, this waits for its result instead.
+     *
+     * @param key the key
+     * @return the value, or null if the loader returned null
+     */
+    @Nullable
+    public V get(@NotNull K key) {
+        Node<K, V> node = data.get(key);
+
+        if (node != null) {
+            V value = node.value;
+            afterRead(node);
+
+            return value;
+        }
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = loading.putIfAbsent(key, future);
+
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw Exceptions.wrapThrowable(e.getCause());
+            }
+        }
+
+        return load(key, future);
+    }
+
+    /**
+     * Returns the value of a key, loading it on the executor if it is not cached.<br>
+     * If the key is already being loaded, the returned future is shared with the other callers.
+     *
+     * @param key the key
+     * @return a future completed with the value
+     */
+    public CompletableFuture<V> getAsync(@NotNull K key) {
+        Node<K, V> node = data.get(key);
+
+        if (node != null) {
+            V value = node.value;
+            afterRead(node);
+
+            return CompletableFuture.completedFuture(value);
+        }
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = loading.putIfAbsent(key, future);
+
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    load(key, future);
+                } catch (RuntimeException | Error ignored) {
+                    // The future has already been completed with the exception
+                }
+            });
+        } catch (RuntimeException e) {
+            loading.remove(key, future);
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * Returns the value of a key, without loading it
+     *
+     * @param key the key
+     * @return the value, or null if it is not cached
+     */
+    @Nullable
+    public V getIfPresent(@NotNull K key) {
+        Node<K, V> node = data.get(key);
+
+        if (node == null) {
+            return null;
+        }
+
+        V value = node.value;
+        afterRead(node);
+
+        return value;
+    }
+
+    /**
+     * Caches a value, replacing the current one
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(@NotNull K key, @NotNull V value) {
+        int weight = weigher.applyAsInt(key, value);
+        long now = timeSource.millis();
+
+        lock.lock();
+
+        try {
+            reads.drain(replay);
+
+            Node<K, V> node = data.get(key);
+
+            if (node == null) {
+                node = new Node<>(key, value, weight, now);
+                data.put(key, node);
+                sketch.increment(hash(key));
+                link(window, node);
+                node.queue = WINDOW;
+                windowWeight += weight;
+            } else {
+                node.value = value;
+                node.writeTime = now;
+                addWeight(node, weight - node.weight);
+                node.weight = weight;
+                onAccess(node);
+            }
+
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reloads the value of a key on the executor, if it is cached,
+     * while the current value keeps being served
+     *
+     * @param key the key
+     */
+    public void refresh(@NotNull K key) {
+        Node<K, V> node = data.get(key);
+
+        if (node != null) {
+            scheduleReload(node);
+        }
+    }
+
+    /**
+     * Removes a key from the cache
+     *
+     * @param key the key
+     */
+    public void invalidate(@NotNull K key) {
+        Node<K, V> node = data.remove(key);
+
+        if (node == null) {
+            return;
+        }
+
+        lock.lock();
+
+        try {
+            if (node.queue != RETIRED) {
+                unlink(node);
+                addWeight(node, -node.weight);
+                node.queue = RETIRED;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every key from the cache
+     */
+    public void invalidateAll() {
+        lock.lock();
+
+        try {
+            retireAll(window);
+            retireAll(probation);
+            retireAll(protectedQueue);
+            data.clear();
+            windowWeight = 0;
+            probationWeight = 0;
+            protectedWeight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the amount of cached keys
+     */
+    public long size() {
+        return data.size();
+    }
+
+    /**
+     * @return the sum of the weights of the cached values
+     */
+    public long weightedSize() {
+        lock.lock();
+
+        try {
+            return windowWeight + probationWeight + protectedWeight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the maximum weight of the cache
+     */
+    public long getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * @return the time source of the cache
+     */
+    public TimeSource getTimeSource() {
+        return timeSource;
+    }
+
+    private static int hash(Object key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private V load(K key, CompletableFuture<V> future) {
+        try {
+            Node<K, V> node = data.get(key);
+            V value = node != null ? node.value : loader.apply(key);
+
+            if (node == null && value != null) {
+                put(key, value);
+            }
+
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
+
+    private void reload(Node<K, V> node) {
+        try {
+            V value = loader.apply(node.key);
+
+            if (value == null) {
+                return;
+            }
+
+            int weight = weigher.applyAsInt(node.key, value);
+            lock.lock();
+
+            try {
+                if (node.queue != RETIRED) {
+                    node.value = value;
+                    node.writeTime = timeSource.millis();
+                    addWeight(node, weight - node.weight);
+                    node.weight = weight;
+                    evict();
+                }
+            } finally {
+                lock.unlock();
+            }
+        } catch (RuntimeException ignored) {
+            // Keep serving the current value, the next read will try again
+        } finally {
+            node.refreshing = 0;
+        }
+    }
+
+    private void scheduleReload(Node<K, V> node) {
+        if (!REFRESHING.compareAndSet(node, 0, 1)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> reload(node));
+        } catch (RejectedExecutionException e) {
+            node.refreshing = 0;
+        }
+    }
+
+    private void afterRead(Node<K, V> node) {
+        if (refreshMillis > 0 && timeSource.millis() - node.writeTime >= refreshMillis) {
+            scheduleReload(node);
+        }
+
+        // A read never waits for the policy, it is replayed by whoever holds the lock
+        if (!lock.tryLock()) {
+            reads.offer(node);
+            return;
+        }
+
+        try {
+            reads.drain(replay);
+            onRead(node);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onRead(Node<K, V> node) {
+        if (node.queue != RETIRED) {
+            sketch.increment(hash(node.key));
+            onAccess(node);
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                unlink(node);
+                link(window, node);
+                break;
+            case PROBATION:
+                unlink(node);
+                probationWeight -= node.weight;
+                link(protectedQueue, node);
+                node.queue = PROTECTED;
+                protectedWeight += node.weight;
+
+                while (protectedWeight > protectedMaximum) {
+                    Node<K, V> demoted = protectedQueue.next;
+                    unlink(demoted);
+                    protectedWeight -= demoted.weight;
+                    link(probation, demoted);
+                    demoted.queue = PROBATION;
+                    probationWeight += demoted.weight;
+                }
+
+                break;
+            case PROTECTED:
+                unlink(node);
+                link(protectedQueue, node);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void evict() {
+        while (windowWeight > windowMaximum) {
+            Node<K, V> candidate = window.next;
+            unlink(candidate);
+            windowWeight -= candidate.weight;
+            admit(candidate);
+        }
+
+        while (windowWeight + probationWeight + protectedWeight > maximum) {
+            Node<K, V> victim = first(probation, protectedQueue, window);
+
+            if (victim == null) {
+                break;
+            }
+
+            retire(victim);
+        }
+    }
+
+    private void admit(Node<K, V> candidate) {
+        while (probationWeight + protectedWeight + candidate.weight > mainMaximum) {
+            Node<K, V> victim = first(probation, protectedQueue, null);
+
+            if (victim == null) {
+                break;
+            }
+
+            if (sketch.frequency(hash(candidate.key)) <= sketch.frequency(hash(victim.key))) {
+                candidate.queue = RETIRED;
+                data.remove(candidate.key, candidate);
+                return;
+            }
+
+            retire(victim);
+        }
+
+        link(probation, candidate);
+        candidate.queue = PROBATION;
+        probationWeight += candidate.weight;
+    }
+
+    private Node<K, V> first(Node<K, V> first, Node<K, V> second, Node<K, V> third) {
+        if (first.next != first) {
+            return first.next;
+        }
+
+        if (second.next != second) {
+            return second.next;
+        }
+
+        return third != null && third.next != third ? third.next : null;
+    }
+
+    private void retire(Node<K, V> node) {
+        unlink(node);
+        addWeight(node, -node.weight);
+        node.queue = RETIRED;
+        data.remove(node.key, node);
+    }
+
+    private void addWeight(Node<K, V> node, long delta) {
+        switch (node.queue) {
+            case WINDOW:
+                windowWeight += delta;
+                break;
+            case PROBATION:
+                probationWeight += delta;
+                break;
+            case PROTECTED:
+                protectedWeight += delta;
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static <K, V> void link(Node<K, V> queue, Node<K, V> node) {
+        Node<K, V> last = queue.previous;
+
+        node.previous = last;
+        node.next = queue;
+        last.next = node;
+        queue.previous = node;
+    }
+
+    private static <K, V> void unlink(Node<K, V> node) {
+        node.previous.next = node.next;
+        node.next.previous = node.previous;
+        node.previous = null;
+        node.next = null;
+    }
+
+    private static <K, V> void retireAll(Node<K, V> queue) {
+        for (Node<K, V> node = queue.next; node != queue; node = node.next) {
+            node.queue = RETIRED;
+        }
+
+        queue.previous = queue;
+        queue.next = queue;
+    }
+
+    /**
+     * A cached entry, linked into the access order of the queue it belongs to
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    static final class Node<K, V> {
+
+        final K key;
+        volatile V value;
+        volatile long writeTime;
+        volatile int refreshing;
+        int weight;
+        byte queue;
+        Node<K, V> previous;
+        Node<K, V> next;
+
+        Node(K key, V value, int weight, long writeTime) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = writeTime;
+        }
+
+        private static <K, V> Node<K, V> sentinel() {
+            Node<K, V> sentinel = new Node<>(null, null, 0, 0);
+            sentinel.previous = sentinel;
+            sentinel.next = sentinel;
+
+            return sentinel;
+        }
+
+    }
+
+}
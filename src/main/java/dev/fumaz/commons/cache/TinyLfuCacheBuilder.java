@@ -0,0 +1,109 @@
+package dev.fumaz.commons.cache;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A builder for {@link TinyLfuCache}s
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class TinyLfuCacheBuilder<K, V> {
+
+    private long maximum = -1;
+    private ToIntBiFunction<? super K, ? super V> weigher = (key, value) -> 1;
+    private long refreshMillis;
+    private TimeSource timeSource = TimeSource.system();
+    private Executor executor = ForkJoinPool.commonPool();
+
+    public long getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * Bounds the cache by the amount of entries
+     *
+     * @param maximumSize the maximum amount of entries
+     * @return this builder
+     */
+    public TinyLfuCacheBuilder<K, V> setMaximumSize(long maximumSize) {
+        this.maximum = maximumSize;
+        this.weigher = (key, value) -> 1;
+        return this;
+    }
+
+    /**
+     * Bounds the cache by the sum of the weights of its entries
+     *
+     * @param maximumWeight the maximum weight
+     * @param weigher       the function computing the weight of an entry, which must not be negative
+     * @return this builder
+     */
+    public TinyLfuCacheBuilder<K, V> setMaximumWeight(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+        this.maximum = maximumWeight;
+        this.weigher = weigher;
+        return this;
+    }
+
+    public long getRefreshMillis() {
+        return refreshMillis;
+    }
+
+    /**
+     * Reloads entries on the executor when they are read after a certain amount of time since they were written,
+     * serving the current value until the new one is ready
+     *
+     * @param duration the amount of time
+     * @param unit     the time unit
+     * @return this builder
+     */
+    public TinyLfuCacheBuilder<K, V> setRefreshAfterWrite(long duration, TimeUnit unit) {
+        this.refreshMillis = unit.toMillis(duration);
+        return this;
+    }
+
+    public TimeSource getTimeSource() {
+        return timeSource;
+    }
+
+    public TinyLfuCacheBuilder<K, V> setTimeSource(TimeSource timeSource) {
+        this.timeSource = timeSource;
+        return this;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the executor that runs asynchronous loads and refreshes,
+     * which is {@link ForkJoinPool#commonPool()} by default
+     *
+     * @param executor the executor
+     * @return this builder
+     */
+    public TinyLfuCacheBuilder<K, V> setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Builds the cache
+     *
+     * @param loader the function loading the value of a key
+     * @return the cache
+     * @throws IllegalStateException if no maximum size or weight was set
+     */
+    public TinyLfuCache<K, V> build(Function<? super K, ? extends V> loader) {
+        if (maximum < 0) {
+            throw new IllegalStateException("A maximum size or weight must be set");
+        }
+
+        return new TinyLfuCache<>(maximum, weigher, refreshMillis, timeSource, executor, loader);
+    }
+
+}
@@ -0,0 +1,127 @@
+package dev.fumaz.commons.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link RateLimiter} where every object has a bucket of permits,
+ * refilled at a steady rate and capped at a maximum burst.<br>
+ * Buckets are tracked with the generic cell rate algorithm, which stores a single
+ * timestamp per object and updates it with a compare-and-set, so acquiring never locks.
+ *
+ * @param <T> the type of the object
+ */
+public class TokenBucketRateLimiter<T> extends AbstractRateLimiter<T, AtomicLong> {
+
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    private final int burst;
+    private final long interval;
+    private final long tolerance;
+
+    /**
+     * Creates a rate limiter that refills {@code permits} permits every window,
+     * and holds at most {@code burst} permits at once
+     *
+     * @param permits    the amount of permits refilled every window
+     * @param window     the length of the window
+     * @param unit       the time unit of the window
+     * @param burst      the maximum amount of permits
+     * @param timeSource the time source
+     */
+    public TokenBucketRateLimiter(int permits, long window, TimeUnit unit, int burst, TimeSource timeSource) {
+        super(permits, window, unit, timeSource);
+
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Burst must be positive");
+        }
+
+        this.burst = burst;
+        this.interval = Math.max(1, unit.toMicros(window) / permits);
+        this.tolerance = burst * interval;
+    }
+
+    public TokenBucketRateLimiter(int permits, long window, TimeUnit unit, int burst) {
+        this(permits, window, unit, burst, TimeSource.system());
+    }
+
+    public TokenBucketRateLimiter(int permits, long window, TimeUnit unit, TimeSource timeSource) {
+        this(permits, window, unit, permits, timeSource);
+    }
+
+    public TokenBucketRateLimiter(int permits, long window, TimeUnit unit) {
+        this(permits, window, unit, permits);
+    }
+
+    @Override
+    public boolean tryAcquire(@NotNull T object, int permits) {
+        checkPermits(permits);
+
+        if (permits > burst) {
+            return false;
+        }
+
+        AtomicLong state = state(object);
+        long now = micros();
+        long cost = permits * interval;
+
+        while (true) {
+            long arrival = state.get();
+
+            if (arrival == RETIRED) {
+                discard(object, state);
+                state = state(object);
+                continue;
+            }
+
+            long next = Math.max(arrival, now) + cost;
+
+            if (next - now > tolerance) {
+                return false;
+            }
+
+            if (state.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public int available(@NotNull T object) {
+        AtomicLong state = peek(object);
+
+        if (state == null || state.get() == RETIRED) {
+            return burst;
+        }
+
+        long now = micros();
+        long used = Math.max(state.get(), now) - now;
+
+        return (int) ((tolerance - used) / interval);
+    }
+
+    /**
+     * @return the maximum amount of permits an object can hold
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    @Override
+    AtomicLong createState() {
+        return new AtomicLong();
+    }
+
+    @Override
+    boolean retire(AtomicLong state, long now) {
+        long arrival = state.get();
+        return arrival == RETIRED || arrival <= now * 1000 && state.compareAndSet(arrival, RETIRED);
+    }
+
+    private long micros() {
+        return timeSource.millis() * 1000;
+    }
+
+}
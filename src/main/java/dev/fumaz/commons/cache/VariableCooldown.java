@@ -0,0 +1,321 @@
+package dev.fumaz.commons.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A cooldown where every object can be put on cooldown for a different amount of time.<br>
+ * All objects share a single index and a single hierarchical timer wheel,
+ * so one instance can hold thousands of differently timed cooldowns
+ * and expire them in one cleanup pass.
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ *
+ * @param <T> the type of the object
+ */
+public class VariableCooldown<T> {
+
+    private final Map<T, TimerWheel.Node<T>> nodes = new HashMap<>();
+    private final TimerWheel<T> wheel;
+    private final long delay;
+    private final TimeUnit unit;
+    private final TimeSource timeSource;
+    private StatsCounter stats;
+    private ExpirationListener<T> listener;
+    private Executor executor;
+
+    public VariableCooldown(long delay, TimeUnit unit, TimeSource timeSource) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("Delay cannot be negative");
+        }
+
+        this.delay = delay;
+        this.unit = unit;
+        this.timeSource = timeSource;
+        this.wheel = new TimerWheel<>(timeSource.millis());
+    }
+
+    public VariableCooldown(long delay, TimeUnit unit) {
+        this(delay, unit, TimeSource.system());
+    }
+
+    public VariableCooldown(long millis) {
+        this(millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Puts an object on cooldown for the default delay
+     *
+     * @param object the object
+     */
+    public void put(@NotNull T object) {
+        put(object, delay, unit);
+    }
+
+    /**
+     * Puts an object on cooldown for a certain amount of time,
+     * replacing any cooldown it already had
+     *
+     * @param object   the object
+     * @param duration the duration of the cooldown
+     * @param unit     the time unit
+     * @throws IllegalArgumentException if the duration is negative
+     */
+    public void put(@NotNull T object, long duration, TimeUnit unit) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("Duration cannot be negative");
+        }
+
+        long now = timeSource.millis();
+        long deadline = now + unit.toMillis(duration);
+
+        // The duration is not negative, so a deadline before now can only be an overflow
+        if (deadline < now) {
+            deadline = Long.MAX_VALUE;
+        }
+
+        cleanUp(now);
+
+        TimerWheel.Node<T> node = nodes.get(object);
+
+        if (node == null) {
+            node = new TimerWheel.Node<>(object, deadline);
+            nodes.put(object, node);
+        } else {
+            node.deadline = deadline;
+        }
+
+        wheel.schedule(node);
+
+        if (stats != null) {
+            stats.recordPut();
+        }
+    }
+
+    /**
+     * Returns if an object is on cooldown
+     *
+     * @param object the object
+     * @return whether the object is on cooldown
+     */
+    public boolean has(T object) {
+        TimerWheel.Node<T> node = nodes.get(object);
+        boolean active = node != null && node.deadline > timeSource.millis();
+
+        if (stats != null) {
+            stats.recordCheck(active);
+        }
+
+        return active;
+    }
+
+    /**
+     * Removes an object from the cooldown
+     *
+     * @param object the object
+     */
+    public void invalidate(T object) {
+        TimerWheel.Node<T> node = nodes.remove(object);
+
+        if (node != null) {
+            wheel.deschedule(node);
+        }
+    }
+
+    /**
+     * Clears all objects from cooldown
+     */
+    public void invalidateAll() {
+        nodes.clear();
+        wheel.clear();
+    }
+
+    /**
+     * Clears all objects in the iterable from cooldown
+     *
+     * @param iterable the iterable
+     */
+    public void invalidateAll(Iterable<T> iterable) {
+        for (T object : iterable) {
+            invalidate(object);
+        }
+    }
+
+    /**
+     * @return the amount of objects on cooldown, which may include objects that expired a few milliseconds ago
+     */
+    public long size() {
+        cleanUp();
+        return nodes.size();
+    }
+
+    /**
+     * Returns how long an object has left on cooldown
+     *
+     * @param object the object
+     * @param unit   the time unit
+     * @return the amount of time left
+     */
+    public long get(T object, TimeUnit unit) {
+        TimerWheel.Node<T> node = nodes.get(object);
+
+        if (node == null) {
+            return 0;
+        }
+
+        long remaining = node.deadline - timeSource.millis();
+        return remaining > 0 ? unit.convert(remaining, TimeUnit.MILLISECONDS) : 0;
+    }
+
+    public long getMillis(T object) {
+        return get(object, TimeUnit.MILLISECONDS);
+    }
+
+    public long getSeconds(T object) {
+        return get(object, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Removes all the objects whose cooldown has expired.<br>
+     * This is done automatically when putting objects on cooldown,
+     * but can be called manually if the cooldown is mostly read.
+     */
+    public void cleanUp() {
+        cleanUp(timeSource.millis());
+    }
+
+    /**
+     * Sets the listener notified when objects come off cooldown,
+     * called on the thread that performs the cleanup.<br>
+     * Expirations are only detected by cleanups, so a cooldown that is mostly read
+     * should call {@link #cleanUp()} periodically.
+     *
+     * @param listener the listener, or null to remove it
+     */
+    public void setExpirationListener(@Nullable ExpirationListener<T> listener) {
+        setExpirationListener(listener, null);
+    }
+
+    /**
+     * Sets the listener notified when objects come off cooldown,
+     * called on the given executor.
+     *
+     * @param listener the listener, or null to remove it
+     * @param executor the executor, or null to call the listener on the thread that performs the cleanup
+     */
+    public void setExpirationListener(@Nullable ExpirationListener<T> listener, @Nullable Executor executor) {
+        this.listener = listener;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts recording the statistics returned by {@link #stats()}
+     */
+    public void recordStats() {
+        if (stats == null) {
+            stats = new StatsCounter();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cooldown.<br>
+     * The average remaining time is computed by visiting every object, so this is O(n).
+     *
+     * @return the statistics
+     */
+    public CooldownStats stats() {
+        long now = timeSource.millis();
+        long remaining = 0;
+        long size = 0;
+
+        cleanUp(now);
+
+        for (TimerWheel.Node<T> node : nodes.values()) {
+            if (node.deadline > now) {
+                remaining += node.deadline - now;
+                size++;
+            }
+        }
+
+        // A hash map entry, its share of the table and a wheel node for every object, plus the wheel sentinels
+        long memory = nodes.size() * (32L + 8 + 32) + TimerWheel.SENTINELS * 32L;
+
+        return StatsCounter.snapshot(stats, size, size == 0 ? 0 : remaining / size, memory);
+    }
+
+    /**
+     * @return the default delay of the cooldown
+     */
+    public long getDelay() {
+        return delay;
+    }
+
+    /**
+     * @return the time unit of the default delay
+     */
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return the time source of the cooldown
+     */
+    public TimeSource getTimeSource() {
+        return timeSource;
+    }
+
+    Collection<TimerWheel.Node<T>> nodes() {
+        return nodes.values();
+    }
+
+    private void cleanUp(long now) {
+        TimerWheel.Node<T> node = wheel.advance(now);
+
+        if (node == null) {
+            return;
+        }
+
+        List<T> expired = listener != null ? new ArrayList<>() : null;
+        int expirations = 0;
+
+        while (node != null) {
+            TimerWheel.Node<T> next = node.next;
+            node.next = null;
+            nodes.remove(node.key);
+            expirations++;
+
+            if (expired != null) {
+                expired.add(node.key);
+            }
+
+            node = next;
+        }
+
+        if (stats != null) {
+            stats.recordExpirations(expirations);
+        }
+
+        if (expired != null) {
+            fireExpired(expired);
+        }
+    }
+
+    private void fireExpired(List<T> expired) {
+        ExpirationListener<T> listener = this.listener;
+
+        if (executor == null) {
+            listener.onExpire(expired);
+        } else {
+            executor.execute(() -> listener.onExpire(expired));
+        }
+    }
+
+}
@@ -0,0 +1,208 @@
+package dev.fumaz.commons.collection;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A map of elements to weights, sampled in constant time with Vose's alias method.<br>
+ * Weights are kept in a primitive array, and the alias table is rebuilt in O(n)
+ * on the first draw after the map changes, so it suits tables that are drawn from
+ * much more often than they are modified.
+ * <p>
+ * Unlike {@link WeightedMap}, putting an element that is already in the map replaces its weight.
+ * This class is <b>not</b> thread-safe, since drawing may rebuild the table.
+ *
+ * @param <E> the type of the elements
+ */
+public class AliasWeightedMap<E> {
+
+    private final Map<E, Integer> indexes = new HashMap<>();
+    private Object[] elements = new Object[8];
+    private double[] weights = new double[8];
+    private int size;
+    private double total;
+
+    private double[] probabilities = new double[0];
+    private int[] aliases = new int[0];
+    private boolean dirty;
+
+    /**
+     * Sets the weight of an element, ignoring weights that are not positive
+     *
+     * @param element the element
+     * @param weight  the weight
+     * @return this map
+     */
+    public AliasWeightedMap<E> put(E element, double weight) {
+        if (weight <= 0) {
+            return this;
+        }
+
+        Integer index = indexes.get(element);
+
+        if (index != null) {
+            total += weight - weights[index];
+            weights[index] = weight;
+        } else {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+
+            indexes.put(element, size);
+            elements[size] = element;
+            weights[size] = weight;
+            size++;
+            total += weight;
+        }
+
+        dirty = true;
+        return this;
+    }
+
+    /**
+     * Removes an element
+     *
+     * @param element the element
+     * @return whether the element was in the map
+     */
+    public boolean remove(E element) {
+        Integer index = indexes.remove(element);
+
+        if (index == null) {
+            return false;
+        }
+
+        int last = --size;
+        total -= weights[index];
+
+        // The last element takes the place of the removed one
+        if (index != last) {
+            elements[index] = elements[last];
+            weights[index] = weights[last];
+            indexes.put(element(index), index);
+        }
+
+        elements[last] = null;
+        weights[last] = 0;
+        dirty = true;
+
+        return true;
+    }
+
+    /**
+     * Draws a random element, with a probability proportional to its weight
+     *
+     * @return the element, or null if the map is empty
+     */
+    public E random() {
+        if (size == 0) {
+            return null;
+        }
+
+        if (dirty) {
+            rebuild();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int column = random.nextInt(size);
+
+        return element(random.nextDouble() < probabilities[column] ? column : aliases[column]);
+    }
+
+    /**
+     * @param element the element
+     * @return the weight of the element, or 0 if it is not in the map
+     */
+    public double getWeight(E element) {
+        Integer index = indexes.get(element);
+        return index == null ? 0 : weights[index];
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        indexes.clear();
+        Arrays.fill(elements, 0, size, null);
+        Arrays.fill(weights, 0, size, 0);
+        size = 0;
+        total = 0;
+        dirty = true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E element(int index) {
+        return (E) elements[index];
+    }
+
+    private void rebuild() {
+        int n = size;
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+
+        if (probabilities.length < n) {
+            probabilities = new double[elements.length];
+            aliases = new int[elements.length];
+        }
+
+        // Recomputed rather than using the running total, which drifts after many updates
+        double sum = 0;
+
+        for (int i = 0; i < n; i++) {
+            sum += weights[i];
+        }
+
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Whatever is left is 1 up to rounding errors
+        while (largeCount > 0) {
+            probabilities[large[--largeCount]] = 1;
+        }
+
+        while (smallCount > 0) {
+            probabilities[small[--smallCount]] = 1;
+        }
+
+        total = sum;
+        dirty = false;
+    }
+
+}
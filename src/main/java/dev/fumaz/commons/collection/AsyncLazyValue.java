@@ -0,0 +1,141 @@
+package dev.fumaz.commons.collection;
+
+import dev.fumaz.commons.exception.Exceptions;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * A holder for a variable that is computed on an executor the first time it's fetched.<br>
+ * Concurrent callers share the same computation, which only runs once.
+ * If it fails or is cancelled, the next call starts a new one.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <T> the type of the value
+ */
+public class AsyncLazyValue<T> {
+
+    private final Supplier<T> supplier;
+    private final Executor executor;
+    private final AtomicReference<CompletableFuture<T>> future = new AtomicReference<>();
+
+    public AsyncLazyValue(Supplier<T> supplier, Executor executor) {
+        this.supplier = supplier;
+        this.executor = executor;
+    }
+
+    public AsyncLazyValue(Supplier<T> supplier) {
+        this(supplier, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Starts computing every value in parallel, on their own executors
+     *
+     * @param values the values
+     * @return a future completed once every value has been computed
+     */
+    public static CompletableFuture<Void> prewarm(AsyncLazyValue<?>... values) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            futures[i] = values[i].get();
+        }
+
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Returns the value, starting its computation if nobody has yet.<br>
+     * The future is shared by every caller, so cancelling it cancels the computation for everyone.
+     *
+     * @return a future completed with the value
+     */
+    public CompletableFuture<T> get() {
+        CompletableFuture<T> created = null;
+
+        // The winner of a race can fail and be reset to null before the losers read it
+        while (true) {
+            CompletableFuture<T> current = future.get();
+
+            if (current != null) {
+                return current;
+            }
+
+            if (created == null) {
+                created = new CompletableFuture<>();
+            }
+
+            if (future.compareAndSet(null, created)) {
+                break;
+            }
+        }
+
+        CompletableFuture<T> installed = created;
+
+        // A failed or cancelled computation is forgotten so that the next caller can try again
+        installed.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                future.compareAndSet(installed, null);
+            }
+        });
+
+        try {
+            executor.execute(() -> compute(installed));
+        } catch (RejectedExecutionException e) {
+            installed.completeExceptionally(e);
+        }
+
+        return installed;
+    }
+
+    /**
+     * Returns the value, waiting for it to be computed
+     *
+     * @return the value
+     */
+    public T join() {
+        try {
+            return get().join();
+        } catch (CompletionException e) {
+            throw Exceptions.wrapThrowable(e.getCause());
+        }
+    }
+
+    /**
+     * Cancels the computation if it is still running.<br>
+     * The supplier is not interrupted, but its result is discarded.
+     *
+     * @return whether a running computation was cancelled
+     */
+    public boolean cancel() {
+        CompletableFuture<T> current = future.get();
+        return current != null && current.cancel(false);
+    }
+
+    /**
+     * @return whether the value has been computed successfully
+     */
+    public boolean isDone() {
+        CompletableFuture<T> current = future.get();
+        return current != null && current.isDone() && !current.isCompletedExceptionally();
+    }
+
+    private void compute(CompletableFuture<T> target) {
+        if (target.isDone()) {
+            return;
+        }
+
+        try {
+            target.complete(supplier.get());
+        } catch (Throwable throwable) {
+            target.completeExceptionally(throwable);
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package dev.fumaz.commons.collection;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, compiled form of a {@link PercentageMap}.<br>
+ * The percentages are stored once as cumulative values in a primitive array next to the elements,
+ * so a draw is a single random number and a binary search, without hashing, boxing or allocating.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <E> the type of the elements
+ */
+public final class CompiledPercentageMap<E> {
+
+    private static final double TOLERANCE = 1e-9;
+
+    private final CumulativeTable<E> table;
+
+    private CompiledPercentageMap(CumulativeTable<E> table) {
+        this.table = table;
+    }
+
+    /**
+     * Compiles a map of elements to percentages
+     *
+     * @param map the map
+     * @param <E> the type of the elements
+     * @return the compiled map
+     * @throws IllegalArgumentException if a percentage is negative or the percentages do not add up to 100
+     */
+    public static <E> CompiledPercentageMap<E> of(Map<E, Double> map) {
+        Object[] elements = new Object[map.size()];
+        double[] percentages = new double[map.size()];
+        double total = 0;
+        int index = 0;
+
+        for (Map.Entry<E, Double> entry : map.entrySet()) {
+            double percentage = entry.getValue();
+
+            if (percentage < 0 || Double.isNaN(percentage)) {
+                throw new IllegalArgumentException("Invalid percentage for " + entry.getKey() + ": " + percentage);
+            }
+
+            elements[index] = entry.getKey();
+            percentages[index] = percentage;
+            total += percentage;
+            index++;
+        }
+
+        if (Math.abs(total - 100) > TOLERANCE) {
+            throw new IllegalArgumentException("Percentages must add up to 100, but add up to " + total);
+        }
+
+        // Drawing over the actual total keeps rounding errors from leaving a gap at the end
+        return new CompiledPercentageMap<>(CumulativeTable.of(elements, percentages, -1));
+    }
+
+    /**
+     * Draws a random element, with a probability equal to its percentage
+     *
+     * @return the element
+     */
+    public E random() {
+        return table.random();
+    }
+
+    /**
+     * Draws several random elements with replacement
+     *
+     * @param amount the amount of elements to draw
+     * @return the elements
+     */
+    public List<E> sample(int amount) {
+        return table.sample(amount);
+    }
+
+    /**
+     * Draws several random elements with replacement, only counting how many times each element was drawn
+     *
+     * @param counts the array the counts are added to, indexed like {@link #get(int)}
+     * @param amount the amount of elements to draw
+     */
+    public void sampleInto(int[] counts, int amount) {
+        table.sampleInto(counts, amount);
+    }
+
+    /**
+     * Draws several random elements without replacement, weighted by their percentages
+     *
+     * @param amount the amount of elements to draw
+     * @return the elements
+     */
+    public List<E> sampleDistinct(int amount) {
+        return table.sampleDistinct(amount);
+    }
+
+    /**
+     * @param index the index of the element
+     * @return the element
+     */
+    public E get(int index) {
+        return table.element(index);
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+}
@@ -0,0 +1,191 @@
+package dev.fumaz.commons.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed-size buffer that any number of threads push to, keeping the most recent elements.<br>
+ * Pushing onto a full buffer overwrites the oldest element, so producers never wait for consumers.
+ * Suited for audit trails and recent-action histories shared between threads.
+ * <p>
+ * Producers claim sequence numbers with a single atomic increment. Every slot carries the sequence
+ * number of the element it holds, which readers check before and after reading it,
+ * so {@link #snapshot()} never blocks producers and never returns an element that was overwritten while copying.
+ * The only wait is between two producers a whole lap apart that land on the same slot at the same time.
+ * <p>
+ * Elements can also be consumed by any number of threads with {@link #poll()},
+ * which skips the elements that were overwritten before being polled. Null elements are not permitted.
+ *
+ * @param <T> the type of the elements
+ */
+public class ConcurrentRingBuffer<T> {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final long WRITING = -1;
+
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final int maxSize;
+
+    public ConcurrentRingBuffer(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+
+        long[] initial = new long[maxSize];
+        Arrays.fill(initial, EMPTY);
+
+        this.elements = new AtomicReferenceArray<>(maxSize);
+        this.sequences = new AtomicLongArray(initial);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Pushes an element, overwriting the oldest one if the buffer is full
+     *
+     * @param element the element
+     */
+    public void push(T element) {
+        Objects.requireNonNull(element);
+
+        long sequence = claimed.getAndIncrement();
+        int index = index(sequence);
+
+        while (true) {
+            long current = sequences.get(index);
+
+            // A producer a lap ahead already took the slot, so this element is already overwritten
+            if (current > sequence) {
+                return;
+            }
+
+            if (current != WRITING && sequences.compareAndSet(index, current, WRITING)) {
+                break;
+            }
+        }
+
+        elements.lazySet(index, element);
+        sequences.set(index, sequence);
+    }
+
+    /**
+     * Removes the oldest element that has not been polled yet
+     *
+     * @return the element, or null if there is none or it is still being pushed
+     */
+    public T poll() {
+        while (true) {
+            long next = consumed.get();
+            long claimed = this.claimed.get();
+
+            if (next >= claimed) {
+                return null;
+            }
+
+            if (claimed - next > maxSize) {
+                consumed.compareAndSet(next, claimed - maxSize);
+                continue;
+            }
+
+            T element = read(next);
+
+            if (element == null) {
+                // Either it is still being pushed, or it was just overwritten and the next attempt will skip it
+                if (this.claimed.get() - next <= maxSize) {
+                    return null;
+                }
+
+                continue;
+            }
+
+            if (consumed.compareAndSet(next, next + 1)) {
+                return element;
+            }
+        }
+    }
+
+    /**
+     * @return the most recent element, or null if the buffer is empty
+     */
+    public T peek() {
+        long claimed = this.claimed.get();
+        long oldest = Math.max(0, claimed - maxSize);
+
+        for (long sequence = claimed - 1; sequence >= oldest; sequence--) {
+            T element = read(sequence);
+
+            if (element != null) {
+                return element;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Copies the elements, from the oldest to the most recent, without blocking producers.<br>
+     * Elements that are still being pushed or that are overwritten while copying are left out.
+     *
+     * @return an unmodifiable list of the elements
+     */
+    public List<T> snapshot() {
+        long claimed = this.claimed.get();
+        long oldest = Math.max(0, claimed - maxSize);
+        List<T> snapshot = new ArrayList<>((int) (claimed - oldest));
+
+        for (long sequence = oldest; sequence < claimed; sequence++) {
+            T element = read(sequence);
+
+            if (element != null) {
+                snapshot.add(element);
+            }
+        }
+
+        return Collections.unmodifiableList(snapshot);
+    }
+
+    /**
+     * @return the amount of elements in the buffer, which may include elements that are still being pushed
+     */
+    public int size() {
+        return (int) Math.min(claimed.get(), maxSize);
+    }
+
+    /**
+     * @return the amount of elements ever pushed
+     */
+    public long getPushCount() {
+        return claimed.get();
+    }
+
+    /**
+     * @return the maximum possible size of the buffer
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % maxSize);
+    }
+
+    private T read(long sequence) {
+        int index = index(sequence);
+
+        if (sequences.get(index) != sequence) {
+            return null;
+        }
+
+        T element = elements.get(index);
+        return sequences.get(index) == sequence ? element : null;
+    }
+
+}
@@ -0,0 +1,274 @@
+package dev.fumaz.commons.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable table of elements and their cumulative weights, sampled by binary search.<br>
+ * Draws pick a point between zero and the range, so a range greater than the sum of the weights
+ * leaves room for draws that hit no element.
+ * Bulk draws of at least {@link #PARALLEL_THRESHOLD} elements are split across the common fork-join pool.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <E> the type of the elements
+ */
+final class CumulativeTable<E> {
+
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final Object[] elements;
+    private final double[] cumulative;
+    private final double range;
+
+    CumulativeTable(Object[] elements, double[] cumulative, double range) {
+        this.elements = elements;
+        this.cumulative = cumulative;
+        this.range = range;
+    }
+
+    /**
+     * Builds a table out of individual weights, where weights that are not positive are never drawn
+     *
+     * @param elements the elements
+     * @param weights  the weights of the elements
+     * @param range    the range of the draws, or a negative number to use the sum of the weights
+     * @param <E>      the type of the elements
+     * @return the table
+     */
+    static <E> CumulativeTable<E> of(Object[] elements, double[] weights, double range) {
+        double[] cumulative = new double[elements.length];
+        double total = 0;
+
+        for (int i = 0; i < elements.length; i++) {
+            total += Math.max(0, weights[i]);
+            cumulative[i] = total;
+        }
+
+        return new CumulativeTable<>(elements, cumulative, range < 0 ? total : range);
+    }
+
+    int size() {
+        return elements.length;
+    }
+
+    double getTotal() {
+        return elements.length == 0 ? 0 : cumulative[elements.length - 1];
+    }
+
+    E element(int index) {
+        return index < 0 ? null : cast(elements[index]);
+    }
+
+    /**
+     * Returns the index of the element a point falls on
+     *
+     * @param point the point, between zero and the range
+     * @return the index, or -1 if the point is past every element
+     */
+    int index(double point) {
+        int low = 0;
+        int high = cumulative.length - 1;
+
+        if (high < 0 || point >= cumulative[high]) {
+            return -1;
+        }
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (cumulative[middle] > point) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+    int drawIndex(ThreadLocalRandom random) {
+        return index(random.nextDouble() * range);
+    }
+
+    E random() {
+        return element(drawIndex(ThreadLocalRandom.current()));
+    }
+
+    List<E> sample(int amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+
+        if (amount >= PARALLEL_THRESHOLD) {
+            return IntStream.range(0, amount)
+                    .parallel()
+                    .mapToObj(i -> random())
+                    .collect(Collectors.toList());
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<E> sample = new ArrayList<>(amount);
+
+        for (int i = 0; i < amount; i++) {
+            sample.add(element(drawIndex(random)));
+        }
+
+        return sample;
+    }
+
+    void sampleInto(int[] counts, int amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+
+        if (counts.length < elements.length) {
+            throw new IllegalArgumentException("Counts must have room for " + elements.length + " elements");
+        }
+
+        int[] added;
+
+        if (amount >= PARALLEL_THRESHOLD) {
+            // Every fork-join task counts into its own array, which are then summed
+            added = IntStream.range(0, amount)
+                    .parallel()
+                    .collect(() -> new int[elements.length], (partial, i) -> count(partial, drawIndex(ThreadLocalRandom.current())), CumulativeTable::merge);
+        } else {
+            added = new int[elements.length];
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+
+            for (int i = 0; i < amount; i++) {
+                count(added, drawIndex(random));
+            }
+        }
+
+        merge(counts, added);
+    }
+
+    /**
+     * Draws distinct elements without replacement using the Efraimidis–Spirakis algorithm:
+     * every element gets the key {@code u^(1/w)} and the elements with the highest keys are kept.
+     *
+     * @param amount the amount of elements to draw
+     * @return the elements, in the order they would have been drawn one by one
+     */
+    List<E> sampleDistinct(int amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+
+        int k = Math.min(amount, elements.length);
+        double[] keys = new double[k];
+        int[] indexes = new int[k];
+        int heapSize = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < elements.length; i++) {
+            double weight = cumulative[i] - (i == 0 ? 0 : cumulative[i - 1]);
+
+            if (weight <= 0) {
+                continue;
+            }
+
+            // log(u) / w keeps the same order as u^(1/w) without the precision loss
+            double key = Math.log(1 - random.nextDouble()) / weight;
+
+            if (heapSize < k) {
+                keys[heapSize] = key;
+                indexes[heapSize] = i;
+                siftUp(keys, indexes, heapSize++);
+            } else if (k > 0 && key > keys[0]) {
+                keys[0] = key;
+                indexes[0] = i;
+                siftDown(keys, indexes, heapSize);
+            }
+        }
+
+        Object[] sample = new Object[heapSize];
+
+        // Popping the minimum repeatedly fills the result from the back
+        while (heapSize > 0) {
+            sample[--heapSize] = elements[indexes[0]];
+            keys[0] = keys[heapSize];
+            indexes[0] = indexes[heapSize];
+            siftDown(keys, indexes, heapSize);
+        }
+
+        List<E> list = new ArrayList<>(sample.length);
+
+        for (Object element : sample) {
+            list.add(cast(element));
+        }
+
+        return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E cast(Object element) {
+        return (E) element;
+    }
+
+    private static void count(int[] counts, int index) {
+        if (index >= 0) {
+            counts[index]++;
+        }
+    }
+
+    private static void merge(int[] counts, int[] other) {
+        for (int i = 0; i < other.length; i++) {
+            counts[i] += other[i];
+        }
+    }
+
+    private static void siftUp(double[] keys, int[] indexes, int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+
+            if (keys[parent] <= keys[position]) {
+                return;
+            }
+
+            swap(keys, indexes, parent, position);
+            position = parent;
+        }
+    }
+
+    private static void siftDown(double[] keys, int[] indexes, int size) {
+        int position = 0;
+
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+
+            if (left < size && keys[left] < keys[smallest]) {
+                smallest = left;
+            }
+
+            if (right < size && keys[right] < keys[smallest]) {
+                smallest = right;
+            }
+
+            if (smallest == position) {
+                return;
+            }
+
+            swap(keys, indexes, smallest, position);
+            position = smallest;
+        }
+    }
+
+    private static void swap(double[] keys, int[] indexes, int a, int b) {
+        double key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+
+        int index = indexes[a];
+        indexes[a] = indexes[b];
+        indexes[b] = index;
+    }
+
+}
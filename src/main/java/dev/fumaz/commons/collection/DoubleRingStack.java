@@ -0,0 +1,80 @@
+package dev.fumaz.commons.collection;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.stream.DoubleStream;
+
+/**
+ * A fixed-size stack of {@code double} values backed by a circular array.<br>
+ * Pushing onto a full stack overwrites the oldest value, without boxing or shifting.
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+public class DoubleRingStack extends PrimitiveRingStack {
+
+    private final double[] elements;
+
+    public DoubleRingStack(int maxSize) {
+        super(maxSize);
+        this.elements = new double[maxSize];
+    }
+
+    /**
+     * Pushes a value on top of the stack, evicting the oldest one if the stack is full
+     *
+     * @param value the value
+     */
+    public void push(double value) {
+        elements[pushIndex()] = value;
+    }
+
+    /**
+     * Removes the value on top of the stack
+     *
+     * @return the value
+     * @throws NoSuchElementException if the stack is empty
+     */
+    public double pop() {
+        return elements[popIndex()];
+    }
+
+    /**
+     * @return the value on top of the stack
+     * @throws NoSuchElementException if the stack is empty
+     */
+    public double peek() {
+        return get(0);
+    }
+
+    /**
+     * Returns a value by its age, where 0 is the most recent one
+     *
+     * @param age the age of the value
+     * @return the value
+     * @throws NoSuchElementException if there is no value that old
+     */
+    public double get(int age) {
+        return elements[index(age)];
+    }
+
+    /**
+     * @return the values, from the most recent to the oldest
+     */
+    public double[] toArray() {
+        double[] array = new double[size()];
+
+        for (int i = 0; i < array.length; i++) {
+            array[i] = get(i);
+        }
+
+        return array;
+    }
+
+    /**
+     * @return a stream of the values, from the most recent to the oldest
+     */
+    public DoubleStream stream() {
+        return Arrays.stream(toArray());
+    }
+
+}
@@ -0,0 +1,245 @@
+package dev.fumaz.commons.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A map of elements to weights that can change at any time, backed by a Fenwick tree.<br>
+ * Setting a weight, removing an element and drawing an element all take O(log n),
+ * which suits tables whose weights change between draws, unlike {@link AliasWeightedMap}.
+ * <p>
+ * Putting an element that is already in the map replaces its weight.
+ * This class is <b>not</b> thread-safe.
+ *
+ * @param <E> the type of the elements
+ */
+public class DynamicWeightedMap<E> {
+
+    private final Map<E, Integer> indexes = new HashMap<>();
+    private Object[] elements = new Object[8];
+    private double[] weights = new double[8];
+    // 1-based, tree[i] holds the sum of the weights in (i - lowestOneBit(i), i]
+    private double[] tree = new double[9];
+    private int size;
+
+    /**
+     * Sets the weight of an element, ignoring weights that are not positive
+     *
+     * @param element the element
+     * @param weight  the weight
+     * @return this map
+     */
+    public DynamicWeightedMap<E> put(E element, double weight) {
+        if (weight <= 0) {
+            return this;
+        }
+
+        Integer index = indexes.get(element);
+
+        if (index != null) {
+            add(index, weight - weights[index]);
+            weights[index] = weight;
+            return this;
+        }
+
+        if (size == elements.length) {
+            grow();
+        }
+
+        indexes.put(element, size);
+        elements[size] = element;
+        weights[size] = weight;
+        add(size, weight);
+        size++;
+
+        return this;
+    }
+
+    /**
+     * Removes an element
+     *
+     * @param element the element
+     * @return whether the element was in the map
+     */
+    public boolean remove(E element) {
+        Integer index = indexes.remove(element);
+
+        if (index == null) {
+            return false;
+        }
+
+        int last = --size;
+        double lastWeight = weights[last];
+
+        // The last element takes the place of the removed one
+        if (index != last) {
+            add(index, lastWeight - weights[index]);
+            elements[index] = elements[last];
+            weights[index] = lastWeight;
+            indexes.put(element(index), index);
+        }
+
+        add(last, -weights[last]);
+        elements[last] = null;
+        weights[last] = 0;
+
+        return true;
+    }
+
+    /**
+     * Draws a random element, with a probability proportional to its weight
+     *
+     * @return the element, or null if the map is empty
+     */
+    public E random() {
+        if (size == 0) {
+            return null;
+        }
+
+        return element(find(ThreadLocalRandom.current().nextDouble() * getTotal()));
+    }
+
+    /**
+     * Draws several random elements with replacement, in random order.<br>
+     * Large batches are drawn in a single pass over the weights, by generating the random points already sorted.
+     *
+     * @param amount the amount of elements to draw
+     * @return the elements, or an empty list if the map is empty
+     */
+    public List<E> sample(int amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+
+        List<E> sample = new ArrayList<>(amount);
+
+        if (size == 0 || amount == 0) {
+            return sample;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double total = getTotal();
+
+        if ((long) amount * (32 - Integer.numberOfLeadingZeros(size)) < size) {
+            for (int i = 0; i < amount; i++) {
+                sample.add(element(find(random.nextDouble() * total)));
+            }
+
+            return sample;
+        }
+
+        // Normalized partial sums of exponential spacings are sorted uniform points
+        double[] points = new double[amount];
+        double sum = 0;
+
+        for (int i = 0; i < amount; i++) {
+            sum -= Math.log(1 - random.nextDouble());
+            points[i] = sum;
+        }
+
+        double scale = total / (sum - Math.log(1 - random.nextDouble()));
+        double cumulative = 0;
+        int index = -1;
+
+        for (int i = 0; i < amount; i++) {
+            double point = points[i] * scale;
+
+            while (index < size - 1 && (index < 0 || cumulative <= point)) {
+                cumulative += weights[++index];
+            }
+
+            sample.add(element(index));
+        }
+
+        Collections.shuffle(sample, random);
+        return sample;
+    }
+
+    /**
+     * @param element the element
+     * @return the weight of the element, or 0 if it is not in the map
+     */
+    public double getWeight(E element) {
+        Integer index = indexes.get(element);
+        return index == null ? 0 : weights[index];
+    }
+
+    /**
+     * @return the sum of the weights, computed in O(log n)
+     */
+    public double getTotal() {
+        double total = 0;
+
+        for (int i = size; i > 0; i -= i & -i) {
+            total += tree[i];
+        }
+
+        return total;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        indexes.clear();
+        Arrays.fill(elements, null);
+        Arrays.fill(weights, 0);
+        Arrays.fill(tree, 0);
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E element(int index) {
+        return (E) elements[index];
+    }
+
+    private void add(int index, double delta) {
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private int find(double target) {
+        int position = 0;
+
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = position + step;
+
+            if (next < tree.length && tree[next] <= target) {
+                target -= tree[next];
+                position = next;
+            }
+        }
+
+        // Rounding errors can push the target past the last element
+        return Math.min(position, size - 1);
+    }
+
+    private void grow() {
+        int capacity = elements.length * 2;
+
+        elements = Arrays.copyOf(elements, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        tree = new double[capacity + 1];
+
+        for (int i = 1; i <= size; i++) {
+            tree[i] += weights[i - 1];
+            int parent = i + (i & -i);
+
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+package dev.fumaz.commons.collection;
+
+import dev.fumaz.commons.cache.TimeSource;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * A {@link LazyValue} that is computed again once a certain amount of time
+ * has passed since it was last computed.<br>
+ * Without an executor, the first read after the value expires computes it again while other readers wait.
+ * With an executor, only the very first read blocks: after that, expired values keep being served
+ * while a single refresh runs in the background, and a failed refresh is retried on the next read.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <T> the type of the value
+ */
+public class ExpiringLazyValue<T> extends LazyValue<T> {
+
+    private final Supplier<T> supplier;
+    private final long ttlMillis;
+    private final TimeSource timeSource;
+    private final Executor executor;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Entry<T> entry;
+
+    public ExpiringLazyValue(Supplier<T> supplier, long ttl, TimeUnit unit, @Nullable Executor executor, TimeSource timeSource) {
+        if (ttl < 0) {
+            throw new IllegalArgumentException("TTL cannot be negative");
+        }
+
+        this.supplier = supplier;
+        this.ttlMillis = unit.toMillis(ttl);
+        this.timeSource = timeSource;
+        this.executor = executor;
+    }
+
+    public ExpiringLazyValue(Supplier<T> supplier, long ttl, TimeUnit unit, @Nullable Executor executor) {
+        this(supplier, ttl, unit, executor, TimeSource.system());
+    }
+
+    public ExpiringLazyValue(Supplier<T> supplier, long ttl, TimeUnit unit) {
+        this(supplier, ttl, unit, null);
+    }
+
+    @Override
+    protected T compute() {
+        return supplier.get();
+    }
+
+    @Override
+    public T get() {
+        Entry<T> entry = this.entry;
+
+        if (entry != null && !isExpired(entry)) {
+            return entry.value;
+        }
+
+        if (entry != null && executor != null) {
+            scheduleRefresh();
+            return entry.value;
+        }
+
+        synchronized (this) {
+            entry = this.entry;
+
+            if (entry == null || isExpired(entry)) {
+                entry = new Entry<>(compute(), timeSource.millis());
+                this.entry = entry;
+            }
+
+            return entry.value;
+        }
+    }
+
+    /**
+     * Discards the current value, so that the next read computes it again
+     */
+    public void invalidate() {
+        entry = null;
+    }
+
+    /**
+     * @return whether there is a value and it has expired
+     */
+    public boolean isExpired() {
+        Entry<T> entry = this.entry;
+        return entry != null && isExpired(entry);
+    }
+
+    /**
+     * @return the time to live of the value, in milliseconds
+     */
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    @Override
+    Object peek() {
+        Entry<T> entry = this.entry;
+        return entry == null ? UNINITIALIZED : entry.value;
+    }
+
+    private boolean isExpired(Entry<T> entry) {
+        return timeSource.millis() - entry.computedAt >= ttlMillis;
+    }
+
+    private void scheduleRefresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            executor.execute(this::refresh);
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    private void refresh() {
+        try {
+            entry = new Entry<>(compute(), timeSource.millis());
+        } catch (RuntimeException ignored) {
+            // Keep serving the stale value, the next read will try again
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final long computedAt;
+
+        private Entry(T value, long computedAt) {
+            this.value = value;
+            this.computedAt = computedAt;
+        }
+    }
+
+}
@@ -1,17 +1,24 @@
 package dev.fumaz.commons.collection;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Supplier;
 
 /**
  * A holder for a variable that doesn't get
- * computed until it's fetched
+ * computed until it's fetched.<br>
+ * The value is computed once, even if it is null.
+ * <p>
+ * Instances created by {@link #of(Supplier)} or by subclassing are <b>not</b> thread-safe,
+ * use {@link #of(Supplier, Mode)} to share a value between threads.
  *
  * @param <T> the type of the value
  */
 public abstract class LazyValue<T> {
 
-    private T value;
+    static final Object UNINITIALIZED = new Object();
+
+    private Object value = UNINITIALIZED;
 
     public static <T> LazyValue<T> of(Supplier<T> supplier) {
         return new SuppliedLazyValue<>(supplier);
@@ -21,13 +28,49 @@ public abstract class LazyValue<T> {
         return new SuppliedLazyValue<>(() -> value);
     }
 
+    /**
+     * Creates a lazy value with the given thread-safety mode
+     *
+     * @param supplier the supplier of the value
+     * @param mode     the thread-safety mode
+     * @param <T>      the type of the value
+     * @return the lazy value
+     */
+    public static <T> LazyValue<T> of(Supplier<T> supplier, Mode mode) {
+        switch (mode) {
+            case SYNCHRONIZED:
+                return new SynchronizedLazyValue<>(supplier);
+            case PUBLICATION:
+                return new PublicationLazyValue<>(supplier);
+            case THREAD_LOCAL:
+                return new ThreadLocalLazyValue<>(supplier);
+            default:
+                return new SuppliedLazyValue<>(supplier);
+        }
+    }
+
     protected abstract T compute();
 
+    @SuppressWarnings("unchecked")
     public T get() {
-        if (value == null) {
+        if (value == UNINITIALIZED) {
             value = compute();
         }
 
+        return (T) value;
+    }
+
+    /**
+     * @return whether the value has already been computed (by the current thread, for {@link Mode#THREAD_LOCAL})
+     */
+    public boolean isInitialized() {
+        return peek() != UNINITIALIZED;
+    }
+
+    /**
+     * @return the value if it has been computed, or a sentinel otherwise
+     */
+    Object peek() {
         return value;
     }
 
@@ -42,12 +85,13 @@ public abstract class LazyValue<T> {
         }
 
         LazyValue<?> lazyValue = (LazyValue<?>) other;
-        return Objects.equals(value, lazyValue.value);
+        return Objects.equals(peek(), lazyValue.peek());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        Object value = peek();
+        return Objects.hash(value == UNINITIALIZED ? null : value);
     }
 
     @Override
@@ -57,6 +101,29 @@ public abstract class LazyValue<T> {
                 '}';
     }
 
+    /**
+     * How a lazy value behaves when it is accessed by several threads
+     */
+    public enum Mode {
+        /**
+         * Not thread-safe, the value may be computed several times and may not be visible to other threads
+         */
+        NONE,
+        /**
+         * The value is computed exactly once, under a lock that is only taken until it is computed
+         */
+        SYNCHRONIZED,
+        /**
+         * The value may be computed concurrently by several threads, but only the first result is published.
+         * Nothing ever blocks, so the supplier should be cheap and free of side effects.
+         */
+        PUBLICATION,
+        /**
+         * Every thread computes and keeps its own value
+         */
+        THREAD_LOCAL
+    }
+
     private static class SuppliedLazyValue<T> extends LazyValue<T> {
         private final Supplier<T> supplier;
 
@@ -70,4 +137,108 @@ public abstract class LazyValue<T> {
         }
     }
 
+    private static class SynchronizedLazyValue<T> extends SuppliedLazyValue<T> {
+        private volatile Object value = UNINITIALIZED;
+
+        public SynchronizedLazyValue(Supplier<T> supplier) {
+            super(supplier);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get() {
+            Object value = this.value;
+
+            if (value != UNINITIALIZED) {
+                return (T) value;
+            }
+
+            synchronized (this) {
+                value = this.value;
+
+                if (value == UNINITIALIZED) {
+                    value = compute();
+                    this.value = value;
+                }
+            }
+
+            return (T) value;
+        }
+
+        @Override
+        Object peek() {
+            return value;
+        }
+    }
+
+    private static class PublicationLazyValue<T> extends SuppliedLazyValue<T> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<PublicationLazyValue, Object> VALUE =
+                AtomicReferenceFieldUpdater.newUpdater(PublicationLazyValue.class, Object.class, "value");
+
+        private volatile Object value = UNINITIALIZED;
+
+        public PublicationLazyValue(Supplier<T> supplier) {
+            super(supplier);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get() {
+            Object value = this.value;
+
+            if (value != UNINITIALIZED) {
+                return (T) value;
+            }
+
+            value = compute();
+
+            if (!VALUE.compareAndSet(this, UNINITIALIZED, value)) {
+                value = this.value;
+            }
+
+            return (T) value;
+        }
+
+        @Override
+        Object peek() {
+            return value;
+        }
+    }
+
+    private static class ThreadLocalLazyValue<T> extends SuppliedLazyValue<T> {
+        // A thread that has not computed the value has no entry, so computed nulls are stored as this sentinel
+        private static final Object NULL = new Object();
+
+        private final ThreadLocal<Object> values = new ThreadLocal<>();
+
+        public ThreadLocalLazyValue(Supplier<T> supplier) {
+            super(supplier);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T get() {
+            Object value = values.get();
+
+            if (value == null) {
+                value = compute();
+                values.set(value == null ? NULL : value);
+            }
+
+            return value == NULL ? null : (T) value;
+        }
+
+        @Override
+        Object peek() {
+            Object value = values.get();
+
+            if (value == null) {
+                return UNINITIALIZED;
+            }
+
+            return value == NULL ? null : value;
+        }
+    }
+
 }
@@ -3,6 +3,7 @@ package dev.fumaz.commons.collection;
 import dev.fumaz.commons.math.Percentages;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class PercentageMap<E> extends HashMap<E, Double> {
@@ -27,4 +28,61 @@ public class PercentageMap<E> extends HashMap<E, Double> {
         return Percentages.random(this);
     }
 
+    /**
+     * Compiles the map into an immutable form that is faster to draw from
+     *
+     * @return the compiled map
+     * @throws IllegalArgumentException if a percentage is negative or the percentages do not add up to 100
+     */
+    public CompiledPercentageMap<E> compile() {
+        return CompiledPercentageMap.of(this);
+    }
+
+    /**
+     * Draws several random elements with replacement, where a draw that hits no element
+     * (when the percentages add up to less than 100) is null.<br>
+     * The percentages are copied to a primitive array once for the whole batch,
+     * and very large batches are drawn in parallel.
+     *
+     * @param amount the amount of elements to draw
+     * @return the elements
+     */
+    public List<E> sample(int amount) {
+        return table().sample(amount);
+    }
+
+    /**
+     * Draws several random elements with replacement, only counting how many times each element was drawn
+     *
+     * @param counts the array the counts are added to, indexed by the position of the element in {@link #keySet()}
+     * @param amount the amount of elements to draw
+     */
+    public void sampleInto(int[] counts, int amount) {
+        table().sampleInto(counts, amount);
+    }
+
+    /**
+     * Draws several random elements without replacement, weighted by their percentages
+     *
+     * @param amount the amount of elements to draw
+     * @return the elements, at most as many as there are elements with a positive percentage
+     */
+    public List<E> sampleDistinct(int amount) {
+        return table().sampleDistinct(amount);
+    }
+
+    CumulativeTable<E> table() {
+        Object[] elements = new Object[size()];
+        double[] percentages = new double[size()];
+        int index = 0;
+
+        for (Map.Entry<E, Double> entry : entrySet()) {
+            elements[index] = entry.getKey();
+            percentages[index] = entry.getValue();
+            index++;
+        }
+
+        return CumulativeTable.of(elements, percentages, 100);
+    }
+
 }
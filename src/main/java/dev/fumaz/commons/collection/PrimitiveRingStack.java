@@ -0,0 +1,101 @@
+package dev.fumaz.commons.collection;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The index and size bookkeeping shared by the primitive ring stacks.<br>
+ * Subclasses own the array of values and only translate ages and pushes into its indices.
+ * <p>
+ * This class is <b>not</b> thread-safe.
+ */
+abstract class PrimitiveRingStack {
+
+    private final int capacity;
+    private int top;
+    private int size;
+
+    PrimitiveRingStack(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+
+        this.capacity = maxSize;
+    }
+
+    /**
+     * Makes room for a value on top of the stack, evicting the oldest one if the stack is full
+     *
+     * @return the index to store the value at
+     */
+    final int pushIndex() {
+        int index = top;
+        top = top + 1 == capacity ? 0 : top + 1;
+
+        if (size < capacity) {
+            size++;
+        }
+
+        return index;
+    }
+
+    /**
+     * Removes the value on top of the stack
+     *
+     * @return the index the value is stored at
+     * @throws NoSuchElementException if the stack is empty
+     */
+    final int popIndex() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        top = top == 0 ? capacity - 1 : top - 1;
+        size--;
+
+        return top;
+    }
+
+    /**
+     * Returns the index of a value by its age, where 0 is the most recent one
+     *
+     * @param age the age of the value
+     * @return the index the value is stored at
+     * @throws NoSuchElementException if there is no value that old
+     */
+    final int index(int age) {
+        if (age < 0 || age >= size) {
+            throw new NoSuchElementException("Age: " + age + ", size: " + size);
+        }
+
+        int index = top - 1 - age;
+        return index < 0 ? index + capacity : index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return whether pushing a value would evict another one
+     */
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * @return the maximum possible size of the stack
+     */
+    public int getMaxSize() {
+        return capacity;
+    }
+
+    public void clear() {
+        top = 0;
+        size = 0;
+    }
+
+}
@@ -0,0 +1,378 @@
+package dev.fumaz.commons.collection;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A fixed-size deque backed by a circular array.<br>
+ * Adding an element to a full deque evicts the element at the opposite end,
+ * so {@link #push(Object)} behaves like {@link SizedStack#push(Object)} but in constant time.
+ * <p>
+ * Null elements are not permitted. This class is <b>not</b> thread-safe.
+ *
+ * @param <T> the type of the elements
+ */
+public class RingDeque<T> extends AbstractCollection<T> implements Deque<T> {
+
+    private final Object[] elements;
+    private int head;
+    private int size;
+    private int modCount;
+
+    public RingDeque(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+
+        this.elements = new Object[maxSize];
+    }
+
+    /**
+     * Adds an element at the front, evicting the last element if the deque is full
+     *
+     * @param element the element
+     */
+    @Override
+    public void addFirst(T element) {
+        Objects.requireNonNull(element);
+
+        if (size == elements.length) {
+            elements[index(size - 1)] = null;
+            size--;
+        }
+
+        head = head == 0 ? elements.length - 1 : head - 1;
+        elements[head] = element;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Adds an element at the back, evicting the first element if the deque is full
+     *
+     * @param element the element
+     */
+    @Override
+    public void addLast(T element) {
+        Objects.requireNonNull(element);
+
+        if (size == elements.length) {
+            elements[head] = null;
+            head = index(1);
+            size--;
+        }
+
+        elements[index(size)] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean offerFirst(T element) {
+        addFirst(element);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(T element) {
+        addLast(element);
+        return true;
+    }
+
+    @Override
+    public T removeFirst() {
+        T element = pollFirst();
+
+        if (element == null) {
+            throw new NoSuchElementException();
+        }
+
+        return element;
+    }
+
+    @Override
+    public T removeLast() {
+        T element = pollLast();
+
+        if (element == null) {
+            throw new NoSuchElementException();
+        }
+
+        return element;
+    }
+
+    @Override
+    public T pollFirst() {
+        if (size == 0) {
+            return null;
+        }
+
+        T element = element(head);
+        elements[head] = null;
+        head = index(1);
+        size--;
+        modCount++;
+
+        return element;
+    }
+
+    @Override
+    public T pollLast() {
+        if (size == 0) {
+            return null;
+        }
+
+        int index = index(size - 1);
+        T element = element(index);
+        elements[index] = null;
+        size--;
+        modCount++;
+
+        return element;
+    }
+
+    @Override
+    public T getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        return element(head);
+    }
+
+    @Override
+    public T getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        return element(index(size - 1));
+    }
+
+    @Override
+    public T peekFirst() {
+        return size == 0 ? null : element(head);
+    }
+
+    @Override
+    public T peekLast() {
+        return size == 0 ? null : element(index(size - 1));
+    }
+
+    /**
+     * Returns the element at a position, counting from the front
+     *
+     * @param position the position
+     * @return the element
+     * @throws IndexOutOfBoundsException if the position is not in the deque
+     */
+    public T get(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", size: " + size);
+        }
+
+        return element(index(position));
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object object) {
+        for (int i = 0; i < size; i++) {
+            if (elements[index(i)].equals(object)) {
+                delete(i);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object object) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (elements[index(i)].equals(object)) {
+                delete(i);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean add(T element) {
+        addLast(element);
+        return true;
+    }
+
+    @Override
+    public boolean offer(T element) {
+        return offerLast(element);
+    }
+
+    @Override
+    public T remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public T poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public T element() {
+        return getFirst();
+    }
+
+    @Override
+    public T peek() {
+        return peekFirst();
+    }
+
+    /**
+     * Pushes an element on top of the stack, evicting the bottom element if the deque is full
+     *
+     * @param element the element
+     */
+    @Override
+    public void push(T element) {
+        addFirst(element);
+    }
+
+    @Override
+    public T pop() {
+        return removeFirst();
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        return removeFirstOccurrence(object);
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        for (int i = 0; i < size; i++) {
+            if (elements[index(i)].equals(object)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, null);
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the maximum possible size of the deque
+     */
+    public int getMaxSize() {
+        return elements.length;
+    }
+
+    /**
+     * @return whether adding an element would evict another one
+     */
+    public boolean isFull() {
+        return size == elements.length;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new RingIterator(false);
+    }
+
+    @Override
+    public Iterator<T> descendingIterator() {
+        return new RingIterator(true);
+    }
+
+    private int index(int position) {
+        int index = head + position;
+        return index >= elements.length ? index - elements.length : index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T element(int index) {
+        return (T) elements[index];
+    }
+
+    private void delete(int position) {
+        for (int i = position; i < size - 1; i++) {
+            elements[index(i)] = elements[index(i + 1)];
+        }
+
+        elements[index(size - 1)] = null;
+        size--;
+        modCount++;
+    }
+
+    private class RingIterator implements Iterator<T> {
+        private final boolean descending;
+        private int cursor;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        private RingIterator(boolean descending) {
+            this.descending = descending;
+            this.cursor = descending ? size - 1 : 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return descending ? cursor >= 0 : cursor < size;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            last = cursor;
+            cursor += descending ? -1 : 1;
+
+            return element(index(last));
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            delete(last);
+
+            if (!descending) {
+                cursor = last;
+            }
+
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+}
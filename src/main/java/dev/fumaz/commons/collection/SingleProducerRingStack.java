@@ -0,0 +1,136 @@
+package dev.fumaz.commons.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed-size stack that one thread pushes to while any number of threads read it, without locks.<br>
+ * Pushing onto a full stack overwrites the oldest element.
+ * Every slot carries the sequence number of the element it holds, which readers check before and after
+ * reading it, so a reader never returns an element that was overwritten while it was reading.
+ * <p>
+ * Only one thread at a time may call {@link #push(Object)}, use {@link ConcurrentRingBuffer} for several producers.
+ * Null elements are not permitted.
+ *
+ * @param <T> the type of the elements
+ */
+public class SingleProducerRingStack<T> {
+
+    private static final long WRITING = -1;
+
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong pushed = new AtomicLong();
+    private final int maxSize;
+
+    public SingleProducerRingStack(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+
+        long[] initial = new long[maxSize];
+        Arrays.fill(initial, WRITING);
+
+        this.elements = new AtomicReferenceArray<>(maxSize);
+        this.sequences = new AtomicLongArray(initial);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Pushes an element on top of the stack, overwriting the oldest one if the stack is full
+     *
+     * @param element the element
+     */
+    public void push(T element) {
+        Objects.requireNonNull(element);
+
+        long sequence = pushed.get();
+        int index = (int) (sequence % maxSize);
+
+        // Readers of the element being overwritten will see the slot as being written and discard what they read
+        sequences.set(index, WRITING);
+        elements.lazySet(index, element);
+        sequences.lazySet(index, sequence);
+        pushed.lazySet(sequence + 1);
+    }
+
+    /**
+     * @return the element on top of the stack, or null if the stack is empty
+     */
+    public T peek() {
+        return get(0);
+    }
+
+    /**
+     * Returns an element by its age, where 0 is the most recent one
+     *
+     * @param age the age of the element
+     * @return the element, or null if there is no element that old or it was overwritten while reading it
+     */
+    public T get(int age) {
+        long pushed = this.pushed.get();
+
+        if (age < 0 || age >= Math.min(pushed, maxSize)) {
+            return null;
+        }
+
+        return read(pushed - 1 - age);
+    }
+
+    /**
+     * Copies the elements, from the most recent to the oldest.<br>
+     * Elements overwritten while copying are left out.
+     *
+     * @return the elements
+     */
+    public List<T> snapshot() {
+        long pushed = this.pushed.get();
+        long oldest = Math.max(0, pushed - maxSize);
+        List<T> snapshot = new ArrayList<>((int) (pushed - oldest));
+
+        for (long sequence = pushed - 1; sequence >= oldest; sequence--) {
+            T element = read(sequence);
+
+            // Older elements are overwritten before newer ones, so the rest is gone too
+            if (element == null) {
+                break;
+            }
+
+            snapshot.add(element);
+        }
+
+        return snapshot;
+    }
+
+    public int size() {
+        return (int) Math.min(pushed.get(), maxSize);
+    }
+
+    public boolean isEmpty() {
+        return pushed.get() == 0;
+    }
+
+    /**
+     * @return the maximum possible size of the stack
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private T read(long sequence) {
+        int index = (int) (sequence % maxSize);
+
+        if (sequences.get(index) != sequence) {
+            return null;
+        }
+
+        T element = elements.get(index);
+        return sequences.get(index) == sequence ? element : null;
+    }
+
+}
@@ -9,6 +9,7 @@ import java.util.Stack;
  * until it can fit new ones.
  *
  * @param <T> the type of the elements
+ * @see RingDeque
  * @see <a href="https://stackoverflow.com/questions/7727919/creating-a-fixed-size-stack">https://stackoverflow.com/questions/7727919/creating-a-fixed-size-stack</a>
  */
 public class SizedStack<T> extends Stack<T> {
@@ -2,7 +2,11 @@ package dev.fumaz.commons.collection;
 
 import dev.fumaz.commons.math.Randoms;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.TreeMap;
 
 public class WeightedMap<E> {
@@ -20,8 +24,34 @@ public class WeightedMap<E> {
         return this;
     }
 
+    /**
+     * Removes every entry of an element, shifting the cumulative weights of the following entries
+     *
+     * @param element the element
+     * @return whether the element was in the map
+     */
     public boolean remove(E element) {
-        return map.values().remove(element);
+        List<Map.Entry<Double, E>> entries = new ArrayList<>(map.entrySet());
+        double previous = 0.0D;
+        boolean removed = false;
+
+        map.clear();
+        total = 0.0D;
+
+        for (Map.Entry<Double, E> entry : entries) {
+            double weight = entry.getKey() - previous;
+            previous = entry.getKey();
+
+            if (Objects.equals(entry.getValue(), element)) {
+                removed = true;
+                continue;
+            }
+
+            total += weight;
+            map.put(total, entry.getValue());
+        }
+
+        return removed;
     }
 
     public E random() {
@@ -30,8 +60,54 @@ public class WeightedMap<E> {
         return map.higherEntry(value).getValue();
     }
 
+    /**
+     * Draws several random elements with replacement.<br>
+     * The cumulative weights are copied to a primitive array once for the whole batch,
+     * and very large batches are drawn in parallel.
+     *
+     * @param amount the amount of elements to draw
+     * @return the elements
+     */
+    public List<E> sample(int amount) {
+        return table().sample(amount);
+    }
+
+    /**
+     * Draws several random elements with replacement, only counting how many times each entry was drawn
+     *
+     * @param counts the array the counts are added to, indexed by the position of the entry in {@link #getMap()}
+     * @param amount the amount of elements to draw
+     */
+    public void sampleInto(int[] counts, int amount) {
+        table().sampleInto(counts, amount);
+    }
+
+    /**
+     * Draws several random entries without replacement, so every entry is drawn at most once
+     *
+     * @param amount the amount of entries to draw
+     * @return the elements of the entries, at most as many as there are entries
+     */
+    public List<E> sampleDistinct(int amount) {
+        return table().sampleDistinct(amount);
+    }
+
     public NavigableMap<Double, E> getMap() {
         return map;
     }
 
+    private CumulativeTable<E> table() {
+        Object[] elements = new Object[map.size()];
+        double[] cumulative = new double[map.size()];
+        int index = 0;
+
+        for (Map.Entry<Double, E> entry : map.entrySet()) {
+            elements[index] = entry.getValue();
+            cumulative[index] = entry.getKey();
+            index++;
+        }
+
+        return new CumulativeTable<>(elements, cumulative, total);
+    }
+
 }
@@ -18,6 +18,14 @@ import java.util.stream.Collectors;
  */
 public final class Enums {
 
+    // getEnumConstants() clones its array on every call, so every enum's constants are copied once and shared
+    private static final ClassValue<List<?>> CONSTANTS = new ClassValue<List<?>>() {
+        @Override
+        protected List<?> computeValue(Class<?> type) {
+            return ImmutableList.copyOf(type.getEnumConstants());
+        }
+    };
+
     private Enums() {
     }
 
@@ -43,10 +51,18 @@ public final class Enums {
         return Enums.getValue(enumType, name, false);
     }
 
+    /**
+     * Returns the constants of an enum, cached so that repeated calls do not allocate
+     *
+     * @param enumType the enum's class
+     * @param <T>      the type of the enum
+     * @return an immutable list of the constants, in declaration order
+     */
     @NotNull
     @Unmodifiable
+    @SuppressWarnings("unchecked")
     public static <T extends Enum<T>> List<T> toList(Class<T> enumType) {
-        return ImmutableList.copyOf(enumType.getEnumConstants());
+        return (List<T>) CONSTANTS.get(enumType);
     }
 
     @NotNull
@@ -76,10 +92,13 @@ public final class Enums {
 
     @Nullable
     private static <T extends Enum<T>> T getValue(Class<T> enumType, String name, boolean caseSensitive) {
-        return Arrays.stream(enumType.getEnumConstants())
-                .filter(constant -> caseSensitive ? constant.name().equals(name) : constant.name().equalsIgnoreCase(name))
-                .findFirst()
-                .orElse(null);
+        for (T constant : toList(enumType)) {
+            if (caseSensitive ? constant.name().equals(name) : constant.name().equalsIgnoreCase(name)) {
+                return constant;
+            }
+        }
+
+        return null;
     }
 
     private static <T extends Enum<T>> boolean hasValue(Class<T> enumType, String name, boolean caseSensitive) {
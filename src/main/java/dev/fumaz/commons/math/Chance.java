@@ -0,0 +1,182 @@
+package dev.fumaz.commons.math;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A precompiled chance of success, for rolling the same chance many times.<br>
+ * The probability is turned into a 53-bit threshold once, so every roll
+ * is a single {@link RandomSource#nextLong()} and a comparison, without allocating.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class Chance {
+
+    private static final double SCALE = 0x1.0p53;
+
+    private final double probability;
+    private final long threshold;
+
+    private Chance(double probability) {
+        this.probability = probability;
+        this.threshold = threshold(probability);
+    }
+
+    /**
+     * Creates a chance that succeeds the given percentage of the time
+     *
+     * @param percentage the percentage, between 0.0 and 100.0
+     * @return the chance
+     */
+    public static Chance of(double percentage) {
+        if (!(percentage >= 0 && percentage <= 100)) {
+            throw new IllegalArgumentException("Percentage must be between 0 and 100: " + percentage);
+        }
+
+        return new Chance(percentage / 100);
+    }
+
+    /**
+     * Creates a chance that succeeds with the given probability
+     *
+     * @param probability the probability, between 0.0 and 1.0
+     * @return the chance
+     */
+    public static Chance ofProbability(double probability) {
+        if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1: " + probability);
+        }
+
+        return new Chance(probability);
+    }
+
+    /**
+     * Creates a chance that succeeds as often as {@link Percentages#isHigherThan(double)}
+     *
+     * @param chance the chance
+     * @return the chance
+     */
+    public static Chance higherThan(double chance) {
+        return new Chance(Percentages.higherThan(chance));
+    }
+
+    /**
+     * Creates a chance that succeeds as often as {@link Percentages#isLowerThan(double)}
+     *
+     * @param chance the chance
+     * @return the chance
+     */
+    public static Chance lowerThan(double chance) {
+        return new Chance(Percentages.lowerThan(chance));
+    }
+
+    /**
+     * Creates a chance that succeeds as often as {@link Percentages#isAtLeast(double)}
+     *
+     * @param chance the chance
+     * @return the chance
+     */
+    public static Chance atLeast(double chance) {
+        return new Chance(Percentages.atLeast(chance));
+    }
+
+    /**
+     * Creates a chance that succeeds as often as {@link Percentages#isAtMost(double)}
+     *
+     * @param chance the chance
+     * @return the chance
+     */
+    public static Chance atMost(double chance) {
+        return new Chance(Percentages.atMost(chance));
+    }
+
+    /**
+     * Creates a chance that succeeds as often as {@link Percentages#isExactly(double)}
+     *
+     * @param chance the chance
+     * @return the chance
+     */
+    public static Chance exactly(double chance) {
+        return new Chance(Percentages.exactly(chance));
+    }
+
+    /**
+     * Returns the threshold that a 53-bit random value must be lower than
+     * to succeed with the given probability
+     *
+     * @param probability the probability, between 0.0 and 1.0
+     * @return the threshold
+     */
+    static long threshold(double probability) {
+        return (long) Math.ceil(probability * SCALE);
+    }
+
+    /**
+     * Rolls a threshold returned by {@link #threshold(double)}
+     *
+     * @param random    the source
+     * @param threshold the threshold
+     * @return whether the roll succeeded
+     */
+    static boolean roll(RandomSource random, long threshold) {
+        return random.nextLong() >>> 11 < threshold;
+    }
+
+    /**
+     * Rolls the chance with the {@link java.util.concurrent.ThreadLocalRandom} of the calling thread
+     *
+     * @return whether the roll succeeded
+     */
+    public boolean roll() {
+        return roll(RandomSource.threadLocal(), threshold);
+    }
+
+    /**
+     * Rolls the chance with the given source
+     *
+     * @param random the source
+     * @return whether the roll succeeded
+     */
+    public boolean roll(@NotNull RandomSource random) {
+        return roll(random, threshold);
+    }
+
+    /**
+     * @return the probability of success, between 0.0 and 1.0
+     */
+    public double getProbability() {
+        return probability;
+    }
+
+    /**
+     * @return the percentage of success, between 0.0 and 100.0
+     */
+    public double getPercentage() {
+        return probability * 100;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof Chance)) {
+            return false;
+        }
+
+        return threshold == ((Chance) other).threshold;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(threshold);
+    }
+
+    @Override
+    public String toString() {
+        return "Chance{" +
+                "percentage=" + getPercentage() +
+                '}';
+    }
+
+}
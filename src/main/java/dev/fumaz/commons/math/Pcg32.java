@@ -0,0 +1,54 @@
+package dev.fumaz.commons.math;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The PCG-XSH-RR generator by O'Neill, with 64 bits of state and 32-bit outputs.<br>
+ * Every stream number selects a different sequence, so generators with the same seed
+ * but different streams are independent.
+ * <p>
+ * This class is <b>not</b> thread-safe, use {@link #split()} to give every thread its own generator.
+ */
+public final class Pcg32 implements SplittableRandomSource {
+
+    private static final long MULTIPLIER = 6364136223846793005L;
+
+    private final long increment;
+    private long state;
+
+    public Pcg32(long seed, long stream) {
+        this.increment = (stream << 1) | 1;
+
+        nextInt();
+        state += seed;
+        nextInt();
+    }
+
+    public Pcg32(long seed) {
+        this(seed, 0x14057B7EF767814FL);
+    }
+
+    public Pcg32() {
+        this(ThreadLocalRandom.current().nextLong(), ThreadLocalRandom.current().nextLong());
+    }
+
+    @Override
+    public int nextInt() {
+        long old = state;
+        state = old * MULTIPLIER + increment;
+
+        int shifted = (int) (((old >>> 18) ^ old) >>> 27);
+        return Integer.rotateRight(shifted, (int) (old >>> 59));
+    }
+
+    @Override
+    public long nextLong() {
+        return ((long) nextInt() << 32) | (nextInt() & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public Pcg32 split() {
+        return new Pcg32(nextLong(), nextLong());
+    }
+
+}
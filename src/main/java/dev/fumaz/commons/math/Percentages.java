@@ -11,27 +11,70 @@ import java.util.Map;
  */
 public final class Percentages {
 
+    private static final double[] POWERS = {1, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7};
+    private static final int MAX_DECIMALS = POWERS.length - 1;
+
     private Percentages() {
     }
 
+    /**
+     * Rolls a percentage between 0.0 and 100.0, with as many decimals as the chance,
+     * and returns if it is higher than the chance.<br>
+     * Use {@link Chance#higherThan(double)} to roll the same chance many times.
+     *
+     * @param chance the chance
+     * @return whether the percentage is higher than the chance
+     */
     public static boolean isHigherThan(double chance) {
-        return nextPercentage(chance) > chance;
+        return roll(higherThan(chance));
     }
 
+    /**
+     * Rolls a percentage between 0.0 and 100.0, with as many decimals as the chance,
+     * and returns if it is lower than the chance.<br>
+     * Use {@link Chance#lowerThan(double)} to roll the same chance many times.
+     *
+     * @param chance the chance
+     * @return whether the percentage is lower than the chance
+     */
     public static boolean isLowerThan(double chance) {
-        return nextPercentage(chance) < chance;
+        return roll(lowerThan(chance));
     }
 
+    /**
+     * Rolls a percentage between 0.0 and 100.0, with as many decimals as the chance,
+     * and returns if it is at least the chance.<br>
+     * Use {@link Chance#atLeast(double)} to roll the same chance many times.
+     *
+     * @param chance the chance
+     * @return whether the percentage is at least the chance
+     */
     public static boolean isAtLeast(double chance) {
-        return nextPercentage(chance) >= chance;
+        return roll(atLeast(chance));
     }
 
+    /**
+     * Rolls a percentage between 0.0 and 100.0, with as many decimals as the chance,
+     * and returns if it is at most the chance.<br>
+     * Use {@link Chance#atMost(double)} to roll the same chance many times.
+     *
+     * @param chance the chance
+     * @return whether the percentage is at most the chance
+     */
     public static boolean isAtMost(double chance) {
-        return nextPercentage(chance) <= chance;
+        return roll(atMost(chance));
     }
 
+    /**
+     * Rolls a percentage between 0.0 and 100.0, with as many decimals as the chance,
+     * and returns if it is exactly the chance.<br>
+     * Use {@link Chance#exactly(double)} to roll the same chance many times.
+     *
+     * @param chance the chance
+     * @return whether the percentage is exactly the chance
+     */
     public static boolean isExactly(double chance) {
-        return nextPercentage(chance) == chance;
+        return roll(exactly(chance));
     }
 
     @Nullable
@@ -53,6 +96,70 @@ public final class Percentages {
         return null;
     }
 
+    static double higherThan(double chance) {
+        return 1 - atMost(chance);
+    }
+
+    static double lowerThan(double chance) {
+        int decimals = decimals(chance);
+        return fraction(Math.round(chance * POWERS[decimals]), decimals);
+    }
+
+    static double atLeast(double chance) {
+        return 1 - lowerThan(chance);
+    }
+
+    static double atMost(double chance) {
+        int decimals = decimals(chance);
+        return fraction(Math.round(chance * POWERS[decimals]) + 1, decimals);
+    }
+
+    static double exactly(double chance) {
+        return atMost(chance) - lowerThan(chance);
+    }
+
+    /**
+     * Returns the amount of decimals of a chance like {@link Decimals#getDecimalPlaces(double)},
+     * without going through {@link java.math.BigDecimal}.<br>
+     * Chances with more than {@link #MAX_DECIMALS} decimals are rounded to that amount,
+     * since 100 with more decimals no longer fits the range of {@link Randoms#nextPercentage(int)}.
+     *
+     * @param chance the chance
+     * @return the amount of decimals
+     */
+    private static int decimals(double chance) {
+        if (!Double.isFinite(chance)) {
+            throw new IllegalArgumentException("Chance must be finite: " + chance);
+        }
+
+        for (int decimals = 0; decimals < MAX_DECIMALS; decimals++) {
+            double power = POWERS[decimals];
+
+            if (Math.rint(chance * power) / power == chance) {
+                return decimals;
+            }
+        }
+
+        return MAX_DECIMALS;
+    }
+
+    /**
+     * Returns the probability of rolling one of the given amount of percentages,
+     * out of all the percentages between 0.0 and 100.0 with the given amount of decimals
+     *
+     * @param favourable the amount of percentages
+     * @param decimals   the amount of decimals
+     * @return the probability
+     */
+    private static double fraction(long favourable, int decimals) {
+        double outcomes = 100 * POWERS[decimals] + 1;
+        return Math.min(Math.max(favourable, 0), outcomes) / outcomes;
+    }
+
+    private static boolean roll(double probability) {
+        return Chance.roll(RandomSource.threadLocal(), Chance.threshold(probability));
+    }
+
     private static double nextPercentage(double base) {
         return Randoms.nextPercentage(Decimals.getDecimalPlaces(base));
     }
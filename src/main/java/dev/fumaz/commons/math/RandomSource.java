@@ -0,0 +1,209 @@
+package dev.fumaz.commons.math;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A source of pseudorandom numbers that can be passed to {@link Randoms}
+ * instead of the default {@link ThreadLocalRandom}, for example to replay a simulation from a seed.<br>
+ * Implementations only have to provide {@link #nextLong()}, every other method is derived from it:
+ * bounded integers use Lemire's multiply-shift method, which is unbiased and rarely needs a second draw.
+ * <p>
+ * Unless stated otherwise, implementations are <b>not</b> thread-safe.
+ *
+ * @see SplitMix64
+ * @see Xoshiro256StarStar
+ * @see Pcg32
+ */
+public interface RandomSource {
+
+    /**
+     * @return a source backed by the {@link ThreadLocalRandom} of the calling thread, which is thread-safe
+     */
+    static RandomSource threadLocal() {
+        return ThreadLocalRandomSource.INSTANCE;
+    }
+
+    /**
+     * Adapts a {@link Random} to a source
+     *
+     * @param random the random
+     * @return the source
+     */
+    static RandomSource of(Random random) {
+        return random::nextLong;
+    }
+
+    /**
+     * @return a pseudorandom {@code long} value
+     */
+    long nextLong();
+
+    /**
+     * @return a pseudorandom {@code int} value
+     */
+    default int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Returns a pseudorandom {@code int} value between zero (inclusive) and the bound (exclusive)
+     *
+     * @param bound the upper bound (exclusive), must be positive
+     * @return the value
+     */
+    default int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive");
+        }
+
+        long product = (nextInt() & 0xFFFFFFFFL) * bound;
+        int low = (int) product;
+
+        // Only the values below 2^32 mod bound would bias the result, and they are rare
+        if (Integer.compareUnsigned(low, bound) < 0) {
+            int threshold = Integer.remainderUnsigned(-bound, bound);
+
+            while (Integer.compareUnsigned(low, threshold) < 0) {
+                product = (nextInt() & 0xFFFFFFFFL) * bound;
+                low = (int) product;
+            }
+        }
+
+        return (int) (product >>> 32);
+    }
+
+    /**
+     * Returns a pseudorandom {@code int} value between the origin (inclusive) and the bound (exclusive)
+     *
+     * @param origin the least value returned
+     * @param bound  the upper bound (exclusive)
+     * @return the value
+     */
+    default int nextInt(int origin, int bound) {
+        if (origin >= bound) {
+            throw new IllegalArgumentException("Bound must be greater than origin");
+        }
+
+        int range = bound - origin;
+
+        if (range > 0) {
+            return origin + nextInt(range);
+        }
+
+        // The range does not fit in an int
+        int value;
+
+        do {
+            value = nextInt();
+        } while (value < origin || value >= bound);
+
+        return value;
+    }
+
+    /**
+     * Returns a pseudorandom {@code long} value between zero (inclusive) and the bound (exclusive)
+     *
+     * @param bound the upper bound (exclusive), must be positive
+     * @return the value
+     */
+    default long nextLong(long bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive");
+        }
+
+        long mask = bound - 1;
+        long value = nextLong();
+
+        if ((bound & mask) == 0) {
+            return value & mask;
+        }
+
+        for (long unsigned = value >>> 1; unsigned + mask - (value = unsigned % bound) < 0; unsigned = nextLong() >>> 1) {
+            // Rejects the values that would bias the result
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns a pseudorandom {@code long} value between the origin (inclusive) and the bound (exclusive)
+     *
+     * @param origin the least value returned
+     * @param bound  the upper bound (exclusive)
+     * @return the value
+     */
+    default long nextLong(long origin, long bound) {
+        if (origin >= bound) {
+            throw new IllegalArgumentException("Bound must be greater than origin");
+        }
+
+        long range = bound - origin;
+
+        if (range > 0) {
+            return origin + nextLong(range);
+        }
+
+        // The range does not fit in a long
+        long value;
+
+        do {
+            value = nextLong();
+        } while (value < origin || value >= bound);
+
+        return value;
+    }
+
+    /**
+     * @return a pseudorandom {@code double} value between zero (inclusive) and one (exclusive)
+     */
+    default double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Returns a pseudorandom {@code double} value between zero (inclusive) and the bound (exclusive)
+     *
+     * @param bound the upper bound (exclusive), must be positive
+     * @return the value
+     */
+    default double nextDouble(double bound) {
+        if (!(bound > 0)) {
+            throw new IllegalArgumentException("Bound must be positive");
+        }
+
+        double value = nextDouble() * bound;
+        return value < bound ? value : Math.nextDown(bound);
+    }
+
+    /**
+     * Returns a pseudorandom {@code double} value between the origin (inclusive) and the bound (exclusive)
+     *
+     * @param origin the least value returned
+     * @param bound  the upper bound (exclusive)
+     * @return the value
+     */
+    default double nextDouble(double origin, double bound) {
+        if (!(origin < bound)) {
+            throw new IllegalArgumentException("Bound must be greater than origin");
+        }
+
+        double value = nextDouble() * (bound - origin) + origin;
+        return value < bound ? value : Math.nextDown(bound);
+    }
+
+    /**
+     * @return a pseudorandom {@code float} value between zero (inclusive) and one (exclusive)
+     */
+    default float nextFloat() {
+        return (nextInt() >>> 8) * 0x1.0p-24f;
+    }
+
+    /**
+     * @return a pseudorandom {@code boolean} value
+     */
+    default boolean nextBoolean() {
+        return nextInt() < 0;
+    }
+
+}
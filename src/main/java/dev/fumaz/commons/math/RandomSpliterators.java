@@ -0,0 +1,194 @@
+package dev.fumaz.commons.math;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * The spliterators behind the streams of {@link SplittableRandomSource},
+ * which give every half their own split source
+ */
+final class RandomSpliterators {
+
+    private static final int CHARACTERISTICS = Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+    private RandomSpliterators() {
+    }
+
+    static final class Ints implements Spliterator.OfInt {
+
+        private final SplittableRandomSource source;
+        private final long fence;
+        private final int origin;
+        private final int bound;
+        private long index;
+
+        Ints(SplittableRandomSource source, long index, long fence, int origin, int bound) {
+            this.source = source;
+            this.index = index;
+            this.fence = fence;
+            this.origin = origin;
+            this.bound = bound;
+        }
+
+        @Override
+        public Ints trySplit() {
+            long middle = (index + fence) >>> 1;
+
+            if (middle <= index) {
+                return null;
+            }
+
+            long start = index;
+            index = middle;
+
+            return new Ints(source.split(), start, middle, origin, bound);
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index >= fence) {
+                return false;
+            }
+
+            action.accept(source.nextInt(origin, bound));
+            index++;
+
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            for (; index < fence; index++) {
+                action.accept(source.nextInt(origin, bound));
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+
+    }
+
+    static final class Longs implements Spliterator.OfLong {
+
+        private final SplittableRandomSource source;
+        private final long fence;
+        private long index;
+
+        Longs(SplittableRandomSource source, long index, long fence) {
+            this.source = source;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public Longs trySplit() {
+            long middle = (index + fence) >>> 1;
+
+            if (middle <= index) {
+                return null;
+            }
+
+            long start = index;
+            index = middle;
+
+            return new Longs(source.split(), start, middle);
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (index >= fence) {
+                return false;
+            }
+
+            action.accept(source.nextLong());
+            index++;
+
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            for (; index < fence; index++) {
+                action.accept(source.nextLong());
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+
+    }
+
+    static final class Doubles implements Spliterator.OfDouble {
+
+        private final SplittableRandomSource source;
+        private final long fence;
+        private long index;
+
+        Doubles(SplittableRandomSource source, long index, long fence) {
+            this.source = source;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public Doubles trySplit() {
+            long middle = (index + fence) >>> 1;
+
+            if (middle <= index) {
+                return null;
+            }
+
+            long start = index;
+            index = middle;
+
+            return new Doubles(source.split(), start, middle);
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (index >= fence) {
+                return false;
+            }
+
+            action.accept(source.nextDouble());
+            index++;
+
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            for (; index < fence; index++) {
+                action.accept(source.nextDouble());
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+
+    }
+
+}
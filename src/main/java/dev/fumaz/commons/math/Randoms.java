@@ -4,21 +4,27 @@ import com.google.common.collect.ImmutableList;
 import dev.fumaz.commons.localization.Enums;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
  * All utilities that involve random number generation will be found here
- * Please note, most of the methods behave according to {@link ThreadLocalRandom}
+ * Please note, most of the methods behave according to {@link ThreadLocalRandom},
+ * and have an overload taking a {@link RandomSource} for reproducible results
  *
  * @author Fumaz
  * @version 1.0
@@ -26,6 +32,9 @@ import java.util.stream.LongStream;
  */
 public final class Randoms {
 
+    private static final int PARALLEL_FILL_THRESHOLD = 1 << 16;
+    private static final int FILL_CHUNK_SIZE = 1 << 14;
+
     private Randoms() {
     }
 
@@ -57,6 +66,36 @@ public final class Randoms {
         return getRandomInstance().nextInt(bound);
     }
 
+    /**
+     * Returns a pseudorandom {@code int} value between zero (inclusive)
+     * and the specified bound (exclusive), drawn from the given source.
+     *
+     * @param random the source
+     * @param bound  the upper bound (exclusive).  Must be positive.
+     * @return a pseudorandom {@code int} value between zero
+     * (inclusive) and the bound (exclusive)
+     * @throws IllegalArgumentException if {@code bound} is not positive
+     */
+    public static int nextInt(@NotNull RandomSource random, int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * Returns a pseudorandom {@code int} value between the specified
+     * origin (inclusive) and the specified bound (exclusive), drawn from the given source.
+     *
+     * @param random the source
+     * @param origin the least value returned
+     * @param bound  the upper bound (exclusive)
+     * @return a pseudorandom {@code int} value between the origin
+     * (inclusive) and the bound (exclusive)
+     * @throws IllegalArgumentException if {@code origin} is greater than
+     *                                  or equal to {@code bound}
+     */
+    public static int nextInt(@NotNull RandomSource random, int origin, int bound) {
+        return random.nextInt(origin, bound);
+    }
+
     /**
      * Returns a pseudorandom {@code int} value.
      *
@@ -75,6 +114,16 @@ public final class Randoms {
         return getRandomInstance().nextBoolean();
     }
 
+    /**
+     * Returns a pseudorandom {@code boolean} value, drawn from the given source.
+     *
+     * @param random the source
+     * @return a pseudorandom {@code boolean} value
+     */
+    public static boolean nextBoolean(@NotNull RandomSource random) {
+        return random.nextBoolean();
+    }
+
     /**
      * Returns a pseudorandom {@code float} value between zero
      * (inclusive) and one (exclusive).
@@ -123,6 +172,22 @@ public final class Randoms {
         return getRandomInstance().nextLong(origin, bound);
     }
 
+    /**
+     * Returns a pseudorandom {@code long} value between the specified
+     * origin (inclusive) and the specified bound (exclusive), drawn from the given source.
+     *
+     * @param random the source
+     * @param origin the least value returned
+     * @param bound  the upper bound (exclusive)
+     * @return a pseudorandom {@code long} value between the origin
+     * (inclusive) and the bound (exclusive)
+     * @throws IllegalArgumentException if {@code origin} is greater than
+     *                                  or equal to {@code bound}
+     */
+    public static long nextLong(@NotNull RandomSource random, long origin, long bound) {
+        return random.nextLong(origin, bound);
+    }
+
     /**
      * Returns a pseudorandom {@code double} value between zero
      * (inclusive) and one (exclusive).
@@ -134,6 +199,18 @@ public final class Randoms {
         return getRandomInstance().nextDouble();
     }
 
+    /**
+     * Returns a pseudorandom {@code double} value between zero
+     * (inclusive) and one (exclusive), drawn from the given source.
+     *
+     * @param random the source
+     * @return a pseudorandom {@code double} value between zero
+     * (inclusive) and one (exclusive)
+     */
+    public static double nextDouble(@NotNull RandomSource random) {
+        return random.nextDouble();
+    }
+
     /**
      * Returns a pseudorandom {@code double} value between the specified
      * origin (inclusive) and bound (exclusive).
@@ -170,9 +247,21 @@ public final class Randoms {
      * @return the percentage
      */
     public static double nextPercentage(int decimals) {
+        return nextPercentage(RandomSource.threadLocal(), decimals);
+    }
+
+    /**
+     * Returns a pseudorandom percentage between 0.0 and 100.0
+     * and a certain amount of decimal precision, drawn from the given source
+     *
+     * @param random   the source
+     * @param decimals the amount of decimals
+     * @return the percentage
+     */
+    public static double nextPercentage(@NotNull RandomSource random, int decimals) {
         double tenths = Math.pow(10, decimals);
 
-        return nextInt((int) (100 * tenths) + 1) / tenths;
+        return random.nextInt((int) (100 * tenths) + 1) / tenths;
     }
 
     /**
@@ -376,6 +465,143 @@ public final class Randoms {
         return getRandomInstance().doubles(randomNumberOrigin, randomNumberBound);
     }
 
+    /**
+     * Fills an array with pseudorandom {@code int} values between the specified
+     * origin (inclusive) and the specified bound (exclusive).<br>
+     * Large arrays are filled in parallel, each chunk by the {@link ThreadLocalRandom} of its worker thread.
+     *
+     * @param destination the array to fill
+     * @param origin      the least value returned
+     * @param bound       the upper bound (exclusive)
+     * @throws IllegalArgumentException if {@code origin} is greater than
+     *                                  or equal to {@code bound}
+     */
+    public static void fill(@NotNull int[] destination, int origin, int bound) {
+        checkRange(origin < bound);
+
+        if (destination.length < PARALLEL_FILL_THRESHOLD) {
+            fillRange(RandomSource.threadLocal(), destination, 0, destination.length, origin, bound);
+            return;
+        }
+
+        IntStream.range(0, chunks(destination.length))
+                .parallel()
+                .forEach(chunk -> fillRange(RandomSource.threadLocal(), destination, chunkStart(chunk), chunkEnd(chunk, destination.length), origin, bound));
+    }
+
+    /**
+     * Fills an array with pseudorandom {@code int} values between the specified
+     * origin (inclusive) and the specified bound (exclusive), drawn from the given source.
+     *
+     * @param random      the source
+     * @param destination the array to fill
+     * @param origin      the least value returned
+     * @param bound       the upper bound (exclusive)
+     * @throws IllegalArgumentException if {@code origin} is greater than
+     *                                  or equal to {@code bound}
+     */
+    public static void fill(@NotNull RandomSource random, @NotNull int[] destination, int origin, int bound) {
+        checkRange(origin < bound);
+        fillRange(random, destination, 0, destination.length, origin, bound);
+    }
+
+    /**
+     * Fills an array in parallel with pseudorandom {@code int} values between the specified
+     * origin (inclusive) and the specified bound (exclusive).<br>
+     * Every chunk of the array gets a source split from the given one before the work starts,
+     * so the result only depends on the seed and not on how the work is scheduled.
+     *
+     * @param random      the source
+     * @param destination the array to fill
+     * @param origin      the least value returned
+     * @param bound       the upper bound (exclusive)
+     * @throws IllegalArgumentException if {@code origin} is greater than
+     *                                  or equal to {@code bound}
+     */
+    public static void parallelFill(@NotNull SplittableRandomSource random, @NotNull int[] destination, int origin, int bound) {
+        checkRange(origin < bound);
+
+        SplittableRandomSource[] sources = split(random, chunks(destination.length));
+
+        IntStream.range(0, sources.length)
+                .parallel()
+                .forEach(chunk -> fillRange(sources[chunk], destination, chunkStart(chunk), chunkEnd(chunk, destination.length), origin, bound));
+    }
+
+    /**
+     * Fills an array with pseudorandom {@code double} values between zero
+     * (inclusive) and one (exclusive).<br>
+     * Large arrays are filled in parallel, each chunk by the {@link ThreadLocalRandom} of its worker thread.
+     *
+     * @param destination the array to fill
+     */
+    public static void fill(@NotNull double[] destination) {
+        fill(destination, 0, 1);
+    }
+
+    /**
+     * Fills an array with pseudorandom {@code double} values between the specified
+     * origin (inclusive) and bound (exclusive).<br>
+     * Large arrays are filled in parallel, each chunk by the {@link ThreadLocalRandom} of its worker thread.
+     *
+     * @param destination the array to fill
+     * @param origin      the least value returned
+     * @param bound       the upper bound (exclusive)
+     * @throws IllegalArgumentException if {@code origin} is greater than
+     *                                  or equal to {@code bound}
+     */
+    public static void fill(@NotNull double[] destination, double origin, double bound) {
+        checkRange(origin < bound);
+
+        if (destination.length < PARALLEL_FILL_THRESHOLD) {
+            fillRange(RandomSource.threadLocal(), destination, 0, destination.length, origin, bound);
+            return;
+        }
+
+        IntStream.range(0, chunks(destination.length))
+                .parallel()
+                .forEach(chunk -> fillRange(RandomSource.threadLocal(), destination, chunkStart(chunk), chunkEnd(chunk, destination.length), origin, bound));
+    }
+
+    /**
+     * Fills an array with pseudorandom {@code double} values between the specified
+     * origin (inclusive) and bound (exclusive), drawn from the given source.
+     *
+     * @param random      the source
+     * @param destination the array to fill
+     * @param origin      the least value returned
+     * @param bound       the upper bound (exclusive)
+     * @throws IllegalArgumentException if {@code origin} is greater than
+     *                                  or equal to {@code bound}
+     */
+    public static void fill(@NotNull RandomSource random, @NotNull double[] destination, double origin, double bound) {
+        checkRange(origin < bound);
+        fillRange(random, destination, 0, destination.length, origin, bound);
+    }
+
+    /**
+     * Fills an array in parallel with pseudorandom {@code double} values between the specified
+     * origin (inclusive) and bound (exclusive).<br>
+     * Every chunk of the array gets a source split from the given one before the work starts,
+     * so the result only depends on the seed and not on how the work is scheduled.
+     *
+     * @param random      the source
+     * @param destination the array to fill
+     * @param origin      the least value returned
+     * @param bound       the upper bound (exclusive)
+     * @throws IllegalArgumentException if {@code origin} is greater than
+     *                                  or equal to {@code bound}
+     */
+    public static void parallelFill(@NotNull SplittableRandomSource random, @NotNull double[] destination, double origin, double bound) {
+        checkRange(origin < bound);
+
+        SplittableRandomSource[] sources = split(random, chunks(destination.length));
+
+        IntStream.range(0, sources.length)
+                .parallel()
+                .forEach(chunk -> fillRange(sources[chunk], destination, chunkStart(chunk), chunkEnd(chunk, destination.length), origin, bound));
+    }
+
     /**
      * Returns a random element from a {@link List<T>}
      *
@@ -384,11 +610,23 @@ public final class Randoms {
      * @return a random element, or null if the list is empty
      */
     public static <T> T choice(@NotNull List<T> list) {
+        return choice(RandomSource.threadLocal(), list);
+    }
+
+    /**
+     * Returns a random element from a {@link List<T>}, drawn from the given source
+     *
+     * @param random the source
+     * @param list   the list
+     * @param <T>    the type of the list
+     * @return a random element, or null if the list is empty
+     */
+    public static <T> T choice(@NotNull RandomSource random, @NotNull List<T> list) {
         if (list.isEmpty()) {
             return null;
         }
 
-        return list.get(nextInt(list.size()));
+        return list.get(random.nextInt(list.size()));
     }
 
     /**
@@ -413,6 +651,18 @@ public final class Randoms {
         return choice(Enums.toList(enumType));
     }
 
+    /**
+     * Returns a random element from an {@link Enum<T>}, drawn from the given source
+     *
+     * @param random   the source
+     * @param enumType the enum's class
+     * @param <T>      the type of the enum
+     * @return a random element, or null if the enum is empty
+     */
+    public static <T extends Enum<T>> T choice(@NotNull RandomSource random, @NotNull Class<T> enumType) {
+        return choice(random, Enums.toList(enumType));
+    }
+
     /**
      * Returns a random element from an array
      *
@@ -434,12 +684,25 @@ public final class Randoms {
      * @return a collection with the random elements
      */
     public static <T> Collection<T> choices(@NotNull List<T> list, int amount) {
+        return choices(RandomSource.threadLocal(), list, amount);
+    }
+
+    /**
+     * Returns a certain amount of random elements from a {@link List}, drawn from the given source
+     *
+     * @param random the source
+     * @param list   the list
+     * @param amount the amount of elements
+     * @param <T>    the type of the elements
+     * @return a collection with the random elements
+     */
+    public static <T> Collection<T> choices(@NotNull RandomSource random, @NotNull List<T> list, int amount) {
         if (list.isEmpty()) {
             return Collections.emptyList();
         }
 
         return IntStream.range(0, amount)
-                .mapToObj(i -> choice(list))
+                .mapToObj(i -> choice(random, list))
                 .collect(Collectors.toList());
     }
 
@@ -481,38 +744,133 @@ public final class Randoms {
     }
 
     /**
-     * Returns a certain amount of <b>unique</b> random elements from a {@link List}
+     * Returns a certain amount of <b>unique</b> random elements from a {@link List}.<br>
+     * Elements are unique by position, so a list with duplicates can return equal elements.
      *
      * @param list   the list
      * @param amount the amount of elements
      * @param <T>    the type of the elements
-     * @return a collection with the random <b>unique</b> elements
+     * @return a collection with the random <b>unique</b> elements, in random order
      */
     public static <T> Collection<T> sample(@NotNull List<T> list, int amount) {
-        if (amount > list.size()) {
+        return sample(RandomSource.threadLocal(), list, amount, false);
+    }
+
+    /**
+     * Returns a certain amount of <b>unique</b> random elements from a {@link List}, drawn from the given source.<br>
+     * Elements are unique by position, so a list with duplicates can return equal elements.
+     *
+     * @param random the source
+     * @param list   the list
+     * @param amount the amount of elements
+     * @param <T>    the type of the elements
+     * @return a collection with the random <b>unique</b> elements, in random order
+     */
+    public static <T> Collection<T> sample(@NotNull RandomSource random, @NotNull List<T> list, int amount) {
+        return sample(random, list, amount, false);
+    }
+
+    /**
+     * Returns a certain amount of <b>unique</b> random elements from a {@link List}, drawn from the given source.<br>
+     * Small samples use Floyd's algorithm, which draws exactly {@code amount} random numbers,
+     * while larger samples use a partial Fisher–Yates shuffle of the indexes.
+     * Elements are unique by position, so a list with duplicates can return equal elements.
+     *
+     * @param random  the source
+     * @param list    the list
+     * @param amount  the amount of elements
+     * @param ordered whether to keep the elements in the order they have in the list, rather than in random order
+     * @param <T>     the type of the elements
+     * @return a list with the random <b>unique</b> elements
+     */
+    public static <T> List<T> sample(@NotNull RandomSource random, @NotNull List<T> list, int amount, boolean ordered) {
+        int size = list.size();
+
+        if (amount > size) {
             throw new IllegalArgumentException("Sample amount cannot be higher than list size");
         }
 
-        Set<T> samples = new HashSet<>();
+        if (amount < 0) {
+            throw new IllegalArgumentException("Sample amount cannot be negative");
+        }
+
+        int[] indexes = amount <= size >>> 2 ? floyd(random, size, amount) : partialShuffle(random, size, amount);
 
-        // This could be simplified to shuffling the list and returning a sublist?
-        while (samples.size() < amount) {
-            samples.add(choice(list));
+        if (ordered) {
+            Arrays.sort(indexes);
+        } else if (amount <= size >>> 2) {
+            shuffle(random, indexes);
+        }
+
+        List<T> samples = new ArrayList<>(amount);
+
+        for (int index : indexes) {
+            samples.add(list.get(index));
         }
 
         return samples;
     }
 
     /**
-     * Returns a certain amount of <b>unique</b> random elements from an {@link Iterable}
+     * Returns a certain amount of <b>unique</b> random elements from an {@link Iterable}.<br>
+     * Lists are sampled by index, any other iterable is traversed once with reservoir sampling,
+     * without being copied.
      *
      * @param iterable the iterable
      * @param amount   the amount of elements
      * @param <T>      the type of the elements
-     * @return a collection with the random <b>unique</b> elements
+     * @return a collection with the random <b>unique</b> elements, in random order
      */
     public static <T> Collection<T> sample(@NotNull Iterable<T> iterable, int amount) {
-        return sample(ImmutableList.copyOf(iterable), amount);
+        return sample(RandomSource.threadLocal(), iterable, amount, false);
+    }
+
+    /**
+     * Returns a certain amount of <b>unique</b> random elements from an {@link Iterable}, drawn from the given source.<br>
+     * Lists are sampled by index, any other iterable is traversed once with reservoir sampling,
+     * without being copied.
+     *
+     * @param random   the source
+     * @param iterable the iterable
+     * @param amount   the amount of elements
+     * @param ordered  whether to keep the elements in the order they are iterated in, rather than in random order
+     * @param <T>      the type of the elements
+     * @return a list with the random <b>unique</b> elements
+     */
+    public static <T> List<T> sample(@NotNull RandomSource random, @NotNull Iterable<T> iterable, int amount, boolean ordered) {
+        if (iterable instanceof List && iterable instanceof RandomAccess) {
+            return sample(random, (List<T>) iterable, amount, ordered);
+        }
+
+        return reservoir(random, iterable.iterator(), amount, ordered);
+    }
+
+    /**
+     * Returns a certain amount of <b>unique</b> random elements from a {@link Stream} of unknown size,
+     * consuming it once with reservoir sampling
+     *
+     * @param stream the stream
+     * @param amount the amount of elements
+     * @param <T>    the type of the elements
+     * @return a list with the random <b>unique</b> elements, in random order
+     */
+    public static <T> List<T> sample(@NotNull Stream<T> stream, int amount) {
+        return sample(RandomSource.threadLocal(), stream, amount, false);
+    }
+
+    /**
+     * Returns a certain amount of <b>unique</b> random elements from a {@link Stream} of unknown size,
+     * consuming it once with reservoir sampling
+     *
+     * @param random  the source
+     * @param stream  the stream
+     * @param amount  the amount of elements
+     * @param ordered whether to keep the elements in the order of the stream, rather than in random order
+     * @param <T>     the type of the elements
+     * @return a list with the random <b>unique</b> elements
+     */
+    public static <T> List<T> sample(@NotNull RandomSource random, @NotNull Stream<T> stream, int amount, boolean ordered) {
+        return reservoir(random, stream.iterator(), amount, ordered);
     }
 
     /**
@@ -544,4 +902,171 @@ public final class Randoms {
         return ThreadLocalRandom.current();
     }
 
+    private static int[] floyd(RandomSource random, int size, int amount) {
+        Set<Integer> chosen = new HashSet<>(amount * 2);
+        int[] indexes = new int[amount];
+        int count = 0;
+
+        // For every j, either a new index below j is chosen or j itself is, so every subset is equally likely
+        for (int j = size - amount; j < size; j++) {
+            int index = random.nextInt(j + 1);
+
+            if (!chosen.add(index)) {
+                index = j;
+                chosen.add(j);
+            }
+
+            indexes[count++] = index;
+        }
+
+        return indexes;
+    }
+
+    private static int[] partialShuffle(RandomSource random, int size, int amount) {
+        int[] indexes = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+
+        for (int i = 0; i < amount; i++) {
+            int j = i + random.nextInt(size - i);
+            int index = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = index;
+        }
+
+        return Arrays.copyOf(indexes, amount);
+    }
+
+    private static void shuffle(RandomSource random, int[] indexes) {
+        for (int i = indexes.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int index = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = index;
+        }
+    }
+
+    private static <T> List<T> reservoir(RandomSource random, Iterator<T> iterator, int amount, boolean ordered) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Sample amount cannot be negative");
+        }
+
+        Object[] reservoir = new Object[amount];
+        long[] positions = new long[amount];
+        long seen = 0;
+
+        while (iterator.hasNext()) {
+            T element = iterator.next();
+
+            if (seen < amount) {
+                reservoir[(int) seen] = element;
+                positions[(int) seen] = seen;
+            } else {
+                long slot = random.nextLong(seen + 1);
+
+                if (slot < amount) {
+                    reservoir[(int) slot] = element;
+                    positions[(int) slot] = seen;
+                }
+            }
+
+            seen++;
+        }
+
+        if (seen < amount) {
+            throw new IllegalArgumentException("Sample amount cannot be higher than the amount of elements");
+        }
+
+        int[] order = new int[amount];
+
+        for (int i = 0; i < amount; i++) {
+            order[i] = i;
+        }
+
+        if (ordered) {
+            order = IntStream.range(0, amount)
+                    .boxed()
+                    .sorted(Comparator.comparingLong(i -> positions[i]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        } else {
+            shuffle(random, order);
+        }
+
+        List<T> samples = new ArrayList<>(amount);
+
+        for (int i : order) {
+            @SuppressWarnings("unchecked")
+            T element = (T) reservoir[i];
+            samples.add(element);
+        }
+
+        return samples;
+    }
+
+    private static void checkRange(boolean valid) {
+        if (!valid) {
+            throw new IllegalArgumentException("Bound must be greater than origin");
+        }
+    }
+
+    private static int chunks(int length) {
+        return (length + FILL_CHUNK_SIZE - 1) / FILL_CHUNK_SIZE;
+    }
+
+    private static int chunkStart(int chunk) {
+        return chunk * FILL_CHUNK_SIZE;
+    }
+
+    private static int chunkEnd(int chunk, int length) {
+        return Math.min(length, chunkStart(chunk) + FILL_CHUNK_SIZE);
+    }
+
+    private static SplittableRandomSource[] split(SplittableRandomSource random, int amount) {
+        SplittableRandomSource[] sources = new SplittableRandomSource[amount];
+
+        for (int i = 0; i < amount; i++) {
+            sources[i] = random.split();
+        }
+
+        return sources;
+    }
+
+    private static void fillRange(RandomSource random, int[] destination, int from, int to, int origin, int bound) {
+        int range = bound - origin;
+
+        if (range <= 0) {
+            // The range does not fit in an int
+            for (int i = from; i < to; i++) {
+                destination[i] = random.nextInt(origin, bound);
+            }
+
+            return;
+        }
+
+        // Lemire's method, with the rejection threshold computed once for the whole array
+        long threshold = Integer.toUnsignedLong(Integer.remainderUnsigned(-range, range));
+
+        for (int i = from; i < to; i++) {
+            long product = (random.nextInt() & 0xFFFFFFFFL) * range;
+
+            while ((product & 0xFFFFFFFFL) < threshold) {
+                product = (random.nextInt() & 0xFFFFFFFFL) * range;
+            }
+
+            destination[i] = origin + (int) (product >>> 32);
+        }
+    }
+
+    private static void fillRange(RandomSource random, double[] destination, int from, int to, double origin, double bound) {
+        double range = bound - origin;
+
+        for (int i = from; i < to; i++) {
+            double value = (random.nextLong() >>> 11) * 0x1.0p-53 * range + origin;
+            destination[i] = value < bound ? value : Math.nextDown(bound);
+        }
+    }
+
 }
@@ -0,0 +1,66 @@
+package dev.fumaz.commons.math;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The SplitMix64 generator, the algorithm behind {@link java.util.SplittableRandom}.<br>
+ * It has a period of 2^64 and only 64 bits of state, which makes it the cheapest generator
+ * to create and split, and the one used to seed the other generators.
+ * <p>
+ * This class is <b>not</b> thread-safe, use {@link #split()} to give every thread its own generator.
+ */
+public final class SplitMix64 implements SplittableRandomSource {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long gamma;
+    private long seed;
+
+    public SplitMix64(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    public SplitMix64() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    private SplitMix64(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Scrambles a value with the SplitMix64 output function
+     *
+     * @param value the value
+     * @return the scrambled value
+     */
+    static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+
+        return value ^ (value >>> 31);
+    }
+
+    private static long mixGamma(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        value = (value ^ (value >>> 33)) | 1L;
+
+        // Gammas with too few bit transitions produce poorly mixed sequences
+        int transitions = Long.bitCount(value ^ (value >>> 1));
+        return transitions < 24 ? value ^ 0xAAAAAAAAAAAAAAAAL : value;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix(seed += gamma);
+    }
+
+    @Override
+    public SplitMix64 split() {
+        long seed = nextLong();
+        return new SplitMix64(seed, mixGamma(this.seed += gamma));
+    }
+
+}
@@ -0,0 +1,72 @@
+package dev.fumaz.commons.math;
+
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A {@link RandomSource} that can be split into an independent source,
+ * so that parallel tasks can each draw from their own generator while staying reproducible.<br>
+ * The streams returned by this interface split the source whenever they are split,
+ * so they can be consumed in parallel.
+ */
+public interface SplittableRandomSource extends RandomSource {
+
+    /**
+     * Creates a new source whose values are statistically independent of this one's.
+     * This source advances, so splitting it twice returns two different sources.
+     *
+     * @return the new source
+     */
+    SplittableRandomSource split();
+
+    /**
+     * Returns a stream of pseudorandom {@code int} values between the origin (inclusive) and the bound (exclusive)
+     *
+     * @param size   the amount of values
+     * @param origin the least value returned
+     * @param bound  the upper bound (exclusive)
+     * @return the stream
+     */
+    default IntStream ints(long size, int origin, int bound) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative");
+        }
+
+        if (origin >= bound) {
+            throw new IllegalArgumentException("Bound must be greater than origin");
+        }
+
+        return StreamSupport.intStream(new RandomSpliterators.Ints(split(), 0, size, origin, bound), false);
+    }
+
+    /**
+     * Returns a stream of pseudorandom {@code long} values
+     *
+     * @param size the amount of values
+     * @return the stream
+     */
+    default LongStream longs(long size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative");
+        }
+
+        return StreamSupport.longStream(new RandomSpliterators.Longs(split(), 0, size), false);
+    }
+
+    /**
+     * Returns a stream of pseudorandom {@code double} values between zero (inclusive) and one (exclusive)
+     *
+     * @param size the amount of values
+     * @return the stream
+     */
+    default DoubleStream doubles(long size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative");
+        }
+
+        return StreamSupport.doubleStream(new RandomSpliterators.Doubles(split(), 0, size), false);
+    }
+
+}
@@ -0,0 +1,103 @@
+package dev.fumaz.commons.math;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The xoshiro256** generator by Blackman and Vigna.<br>
+ * It has a period of 2^256 - 1 and 256 bits of state, passes every known statistical test,
+ * and is the recommended general-purpose generator for simulations.
+ * <p>
+ * This class is <b>not</b> thread-safe, use {@link #split()} or {@link #jump()} to give every thread its own generator.
+ */
+public final class Xoshiro256StarStar implements SplittableRandomSource {
+
+    private static final long[] JUMP = {
+            0x180EC6D33CFD0ABAL, 0xD5A61266F0C9392CL, 0xA9582618E03FC9AAL, 0x39ABDC4529B1661CL
+    };
+
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    /**
+     * Creates a generator whose state is expanded from a seed with {@link SplitMix64}
+     *
+     * @param seed the seed
+     */
+    public Xoshiro256StarStar(long seed) {
+        SplitMix64 seeder = new SplitMix64(seed);
+
+        this.s0 = seeder.nextLong();
+        this.s1 = seeder.nextLong();
+        this.s2 = seeder.nextLong();
+        this.s3 = seeder.nextLong();
+    }
+
+    public Xoshiro256StarStar() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    private Xoshiro256StarStar(long s0, long s1, long s2, long s3) {
+        this.s0 = s0;
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+    }
+
+    @Override
+    public long nextLong() {
+        long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        long t = s1 << 17;
+
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+
+        return result;
+    }
+
+    @Override
+    public Xoshiro256StarStar split() {
+        return new Xoshiro256StarStar(nextLong());
+    }
+
+    /**
+     * Returns a copy of this generator, then advances this one by 2^128 values.<br>
+     * The copy and this generator will not overlap for 2^128 values, so jumping
+     * repeatedly gives up to 2^128 non-overlapping generators.
+     *
+     * @return a copy of the generator before the jump
+     */
+    public Xoshiro256StarStar jump() {
+        Xoshiro256StarStar copy = new Xoshiro256StarStar(s0, s1, s2, s3);
+        long t0 = 0;
+        long t1 = 0;
+        long t2 = 0;
+        long t3 = 0;
+
+        for (long jump : JUMP) {
+            for (int bit = 0; bit < 64; bit++) {
+                if ((jump & (1L << bit)) != 0) {
+                    t0 ^= s0;
+                    t1 ^= s1;
+                    t2 ^= s2;
+                    t3 ^= s3;
+                }
+
+                nextLong();
+            }
+        }
+
+        s0 = t0;
+        s1 = t1;
+        s2 = t2;
+        s3 = t3;
+
+        return copy;
+    }
+
+}
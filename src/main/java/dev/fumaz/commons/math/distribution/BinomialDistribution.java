@@ -0,0 +1,137 @@
+package dev.fumaz.commons.math.distribution;
+
+import dev.fumaz.commons.math.RandomSource;
+
+/**
+ * The binomial distribution: the amount of successes in a fixed amount of independent trials.<br>
+ * When few successes are expected the cumulative distribution is inverted directly,
+ * otherwise Hörmann's transformed rejection (BTRS) takes a constant number of draws.
+ */
+public final class BinomialDistribution implements DiscreteSampler {
+
+    private static final double INVERSION_LIMIT = 10;
+
+    private final int trials;
+    private final double probability;
+    private final boolean flipped;
+    private final double p;
+    private final boolean inversion;
+
+    // Inversion
+    private final double ratio;
+    private final double factor;
+    private final double first;
+
+    // Transformed rejection
+    private final double a;
+    private final double b;
+    private final double c;
+    private final double vr;
+    private final double alpha;
+    private final double logRatio;
+    private final long mode;
+    private final double h;
+
+    /**
+     * @param trials      the amount of trials
+     * @param probability the probability of success of every trial
+     */
+    public BinomialDistribution(int trials, double probability) {
+        if (trials < 0) {
+            throw new IllegalArgumentException("Trials cannot be negative: " + trials);
+        }
+
+        Distributions.checkProbability(probability);
+
+        this.trials = trials;
+        this.probability = probability;
+
+        // Both algorithms need p <= 0.5, the result is mirrored otherwise
+        this.flipped = probability > 0.5;
+        this.p = flipped ? 1 - probability : probability;
+
+        double q = 1 - p;
+
+        this.inversion = trials * p < INVERSION_LIMIT;
+        this.ratio = p / q;
+        this.factor = (trials + 1) * ratio;
+        this.first = Math.pow(q, trials);
+
+        double spq = Math.sqrt(trials * p * q);
+
+        this.b = 1.15 + 2.53 * spq;
+        this.a = -0.0873 + 0.0248 * b + 0.01 * p;
+        this.c = trials * p + 0.5;
+        this.vr = 0.92 - 4.2 / b;
+        this.alpha = (2.83 + 5.1 / b) * spq;
+        this.logRatio = Math.log(ratio);
+        this.mode = (long) Math.floor((trials + 1) * p);
+        this.h = Distributions.logFactorial(mode) + Distributions.logFactorial(trials - mode);
+    }
+
+    @Override
+    public int sample(RandomSource random) {
+        if (p == 0) {
+            return flipped ? trials : 0;
+        }
+
+        int successes = inversion ? invert(random) : reject(random);
+        return flipped ? trials - successes : successes;
+    }
+
+    public int getTrials() {
+        return trials;
+    }
+
+    public double getProbability() {
+        return probability;
+    }
+
+    private int invert(RandomSource random) {
+        while (true) {
+            double u = random.nextDouble();
+            double probability = first;
+            int x = 0;
+
+            while (u > probability) {
+                u -= probability;
+                x++;
+
+                // Rounding errors can leave a little probability past the last value
+                if (x > trials) {
+                    break;
+                }
+
+                probability *= factor / x - ratio;
+            }
+
+            if (x <= trials) {
+                return x;
+            }
+        }
+    }
+
+    private int reject(RandomSource random) {
+        while (true) {
+            double u = random.nextDouble() - 0.5;
+            double v = random.nextDouble();
+            double us = 0.5 - Math.abs(u);
+            long k = (long) Math.floor((2 * a / us + b) * u + c);
+
+            if (k < 0 || k > trials) {
+                continue;
+            }
+
+            if (us >= 0.07 && v <= vr) {
+                return (int) k;
+            }
+
+            double logV = Math.log(v * alpha / (a / (us * us) + b));
+
+            if (logV <= h - Distributions.logFactorial(k) - Distributions.logFactorial(trials - k) + (k - mode) * logRatio) {
+                return (int) k;
+            }
+        }
+    }
+
+}
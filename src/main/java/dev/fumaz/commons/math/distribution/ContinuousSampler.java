@@ -0,0 +1,53 @@
+package dev.fumaz.commons.math.distribution;
+
+import dev.fumaz.commons.math.RandomSource;
+
+import java.util.stream.DoubleStream;
+
+/**
+ * A sampler of a continuous probability distribution.<br>
+ * Samplers are immutable and never allocate, so they can be shared between threads
+ * as long as every thread uses its own source, such as {@link RandomSource#threadLocal()}.
+ */
+public interface ContinuousSampler {
+
+    /**
+     * Draws a value from the given source
+     *
+     * @param random the source
+     * @return the value
+     */
+    double sample(RandomSource random);
+
+    /**
+     * Draws a value from the {@link java.util.concurrent.ThreadLocalRandom} of the calling thread
+     *
+     * @return the value
+     */
+    default double sample() {
+        return sample(RandomSource.threadLocal());
+    }
+
+    /**
+     * Returns an effectively unlimited stream of values drawn from the given source,
+     * which must be thread-safe if the stream is parallel
+     *
+     * @param random the source
+     * @return the stream
+     */
+    default DoubleStream samples(RandomSource random) {
+        return DoubleStream.generate(() -> sample(random));
+    }
+
+    /**
+     * Returns a stream of values drawn from the {@link java.util.concurrent.ThreadLocalRandom}
+     * of the thread consuming it, which can be parallel
+     *
+     * @param size the amount of values
+     * @return the stream
+     */
+    default DoubleStream samples(long size) {
+        return samples(RandomSource.threadLocal()).limit(size);
+    }
+
+}
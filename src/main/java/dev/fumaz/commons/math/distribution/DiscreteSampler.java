@@ -0,0 +1,53 @@
+package dev.fumaz.commons.math.distribution;
+
+import dev.fumaz.commons.math.RandomSource;
+
+import java.util.stream.IntStream;
+
+/**
+ * A sampler of a discrete probability distribution.<br>
+ * Samplers are immutable and never allocate, so they can be shared between threads
+ * as long as every thread uses its own source, such as {@link RandomSource#threadLocal()}.
+ */
+public interface DiscreteSampler {
+
+    /**
+     * Draws a value from the given source
+     *
+     * @param random the source
+     * @return the value
+     */
+    int sample(RandomSource random);
+
+    /**
+     * Draws a value from the {@link java.util.concurrent.ThreadLocalRandom} of the calling thread
+     *
+     * @return the value
+     */
+    default int sample() {
+        return sample(RandomSource.threadLocal());
+    }
+
+    /**
+     * Returns an effectively unlimited stream of values drawn from the given source,
+     * which must be thread-safe if the stream is parallel
+     *
+     * @param random the source
+     * @return the stream
+     */
+    default IntStream samples(RandomSource random) {
+        return IntStream.generate(() -> sample(random));
+    }
+
+    /**
+     * Returns a stream of values drawn from the {@link java.util.concurrent.ThreadLocalRandom}
+     * of the thread consuming it, which can be parallel
+     *
+     * @param size the amount of values
+     * @return the stream
+     */
+    default IntStream samples(long size) {
+        return samples(RandomSource.threadLocal()).limit(size);
+    }
+
+}
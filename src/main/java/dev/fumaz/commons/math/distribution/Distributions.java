@@ -0,0 +1,51 @@
+package dev.fumaz.commons.math.distribution;
+
+/**
+ * Math shared by the samplers
+ */
+final class Distributions {
+
+    private static final double HALF_LOG_TWO_PI = 0.5 * Math.log(2 * Math.PI);
+    private static final double[] LOG_FACTORIALS = new double[256];
+
+    static {
+        for (int i = 1; i < LOG_FACTORIALS.length; i++) {
+            LOG_FACTORIALS[i] = LOG_FACTORIALS[i - 1] + Math.log(i);
+        }
+    }
+
+    private Distributions() {
+    }
+
+    /**
+     * Returns log(k!), from a table for small values and from Stirling's series otherwise
+     *
+     * @param k the value, which must not be negative
+     * @return the logarithm of the factorial
+     */
+    static double logFactorial(long k) {
+        if (k < LOG_FACTORIALS.length) {
+            return LOG_FACTORIALS[(int) k];
+        }
+
+        double x = k + 1;
+        double inverse = 1 / x;
+        double inverseSquared = inverse * inverse;
+
+        return (x - 0.5) * Math.log(x) - x + HALF_LOG_TWO_PI
+                + inverse * (1.0 / 12 - inverseSquared * (1.0 / 360 - inverseSquared / 1260));
+    }
+
+    static void checkProbability(double probability) {
+        if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1: " + probability);
+        }
+    }
+
+    static void checkPositive(double value, String name) {
+        if (!(value > 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(name + " must be positive: " + value);
+        }
+    }
+
+}
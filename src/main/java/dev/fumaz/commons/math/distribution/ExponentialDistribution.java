@@ -0,0 +1,31 @@
+package dev.fumaz.commons.math.distribution;
+
+import dev.fumaz.commons.math.RandomSource;
+
+/**
+ * The exponential distribution, sampled by inversion,
+ * such as the time between events that happen at a constant rate
+ */
+public final class ExponentialDistribution implements ContinuousSampler {
+
+    private final double mean;
+
+    /**
+     * @param rate the rate of the events, the inverse of the mean
+     */
+    public ExponentialDistribution(double rate) {
+        Distributions.checkPositive(rate, "Rate");
+        this.mean = 1 / rate;
+    }
+
+    @Override
+    public double sample(RandomSource random) {
+        // 1 - u is never 0, so the logarithm is always finite
+        return -Math.log(1 - random.nextDouble()) * mean;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+}
@@ -0,0 +1,42 @@
+package dev.fumaz.commons.math.distribution;
+
+import dev.fumaz.commons.math.RandomSource;
+
+/**
+ * The geometric distribution, sampled by inversion:
+ * the amount of failures before the first success of independent trials
+ */
+public final class GeometricDistribution implements DiscreteSampler {
+
+    private final double probability;
+    private final double logFailure;
+
+    /**
+     * @param probability the probability of success of every trial
+     */
+    public GeometricDistribution(double probability) {
+        Distributions.checkProbability(probability);
+
+        if (probability == 0) {
+            throw new IllegalArgumentException("Probability must be positive");
+        }
+
+        this.probability = probability;
+        this.logFailure = Math.log1p(-probability);
+    }
+
+    @Override
+    public int sample(RandomSource random) {
+        if (probability == 1) {
+            return 0;
+        }
+
+        double failures = Math.floor(Math.log(1 - random.nextDouble()) / logFailure);
+        return failures < Integer.MAX_VALUE ? (int) failures : Integer.MAX_VALUE;
+    }
+
+    public double getProbability() {
+        return probability;
+    }
+
+}
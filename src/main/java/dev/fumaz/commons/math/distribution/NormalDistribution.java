@@ -0,0 +1,120 @@
+package dev.fumaz.commons.math.distribution;
+
+import dev.fumaz.commons.math.RandomSource;
+
+/**
+ * The normal (Gaussian) distribution, sampled with the ziggurat method of Marsaglia and Tsang.<br>
+ * The density is covered by 128 stacked rectangles of equal area: about 99% of the draws
+ * land inside a rectangle and cost a single random {@code int} and a multiplication,
+ * only the rest falls back to exponentials and logarithms.
+ */
+public final class NormalDistribution implements ContinuousSampler {
+
+    private static final int LAYERS = 128;
+    private static final double R = 3.442619855899;
+    private static final double INVERSE_R = 1 / R;
+    private static final double AREA = 9.91256303526217e-3;
+    private static final double M1 = 2147483648.0;
+
+    private static final int[] K = new int[LAYERS];
+    private static final double[] W = new double[LAYERS];
+    private static final double[] F = new double[LAYERS];
+
+    static {
+        double d = R;
+        double t = d;
+        double q = AREA / Math.exp(-0.5 * d * d);
+
+        K[0] = (int) ((d / q) * M1);
+        K[1] = 0;
+        W[0] = q / M1;
+        W[LAYERS - 1] = d / M1;
+        F[0] = 1;
+        F[LAYERS - 1] = Math.exp(-0.5 * d * d);
+
+        for (int i = LAYERS - 2; i >= 1; i--) {
+            d = Math.sqrt(-2 * Math.log(AREA / d + Math.exp(-0.5 * d * d)));
+            K[i + 1] = (int) ((d / t) * M1);
+            t = d;
+            F[i] = Math.exp(-0.5 * d * d);
+            W[i] = d / M1;
+        }
+    }
+
+    private final double mean;
+    private final double standardDeviation;
+
+    public NormalDistribution(double mean, double standardDeviation) {
+        Distributions.checkPositive(standardDeviation, "Standard deviation");
+
+        this.mean = mean;
+        this.standardDeviation = standardDeviation;
+    }
+
+    /**
+     * Creates the standard normal distribution, with mean 0 and standard deviation 1
+     */
+    public NormalDistribution() {
+        this(0, 1);
+    }
+
+    /**
+     * Draws a value from the standard normal distribution
+     *
+     * @param random the source
+     * @return the value
+     */
+    public static double standard(RandomSource random) {
+        int hz = random.nextInt();
+        int iz = hz & (LAYERS - 1);
+
+        if (Math.abs(hz) < K[iz]) {
+            return hz * W[iz];
+        }
+
+        return slowPath(random, hz, iz);
+    }
+
+    private static double slowPath(RandomSource random, int hz, int iz) {
+        while (true) {
+            double x = hz * W[iz];
+
+            // The base layer includes the tail, which is sampled from exponentials
+            if (iz == 0) {
+                double y;
+
+                do {
+                    x = -Math.log(1 - random.nextDouble()) * INVERSE_R;
+                    y = -Math.log(1 - random.nextDouble());
+                } while (y + y < x * x);
+
+                return hz > 0 ? R + x : -R - x;
+            }
+
+            if (F[iz] + random.nextDouble() * (F[iz - 1] - F[iz]) < Math.exp(-0.5 * x * x)) {
+                return x;
+            }
+
+            hz = random.nextInt();
+            iz = hz & (LAYERS - 1);
+
+            if (Math.abs(hz) < K[iz]) {
+                return hz * W[iz];
+            }
+        }
+    }
+
+    @Override
+    public double sample(RandomSource random) {
+        return mean + standardDeviation * standard(random);
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+}
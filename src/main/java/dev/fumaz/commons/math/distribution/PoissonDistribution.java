@@ -0,0 +1,79 @@
+package dev.fumaz.commons.math.distribution;
+
+import dev.fumaz.commons.math.RandomSource;
+
+/**
+ * The Poisson distribution: the amount of events in an interval, when they happen at a constant rate.<br>
+ * Small means multiply uniform values until they drop below {@code e^-mean},
+ * larger means use Hörmann's transformed rejection (PTRS), which takes a constant number of draws.
+ */
+public final class PoissonDistribution implements DiscreteSampler {
+
+    private static final double SMALL_MEAN = 10;
+    private static final double MAXIMUM_MEAN = Integer.MAX_VALUE / 2.0;
+
+    private final double mean;
+    private final double limit;
+    private final double logMean;
+    private final double b;
+    private final double a;
+    private final double logInverseAlpha;
+    private final double vr;
+
+    public PoissonDistribution(double mean) {
+        Distributions.checkPositive(mean, "Mean");
+
+        if (mean > MAXIMUM_MEAN) {
+            throw new IllegalArgumentException("Mean is too large: " + mean);
+        }
+
+        double squareRoot = Math.sqrt(mean);
+
+        this.mean = mean;
+        this.limit = Math.exp(-mean);
+        this.logMean = Math.log(mean);
+        this.b = 0.931 + 2.53 * squareRoot;
+        this.a = -0.059 + 0.02483 * b;
+        this.logInverseAlpha = Math.log(1.1239 + 1.1328 / (b - 3.4));
+        this.vr = 0.9277 - 3.6224 / (b - 2);
+    }
+
+    @Override
+    public int sample(RandomSource random) {
+        if (mean < SMALL_MEAN) {
+            int k = 0;
+            double product = random.nextDouble();
+
+            while (product > limit) {
+                k++;
+                product *= random.nextDouble();
+            }
+
+            return k;
+        }
+
+        while (true) {
+            double u = random.nextDouble() - 0.5;
+            double v = random.nextDouble();
+            double us = 0.5 - Math.abs(u);
+            long k = (long) Math.floor((2 * a / us + b) * u + mean + 0.43);
+
+            if (us >= 0.07 && v <= vr) {
+                return (int) k;
+            }
+
+            if (k < 0 || (us < 0.013 && v > us)) {
+                continue;
+            }
+
+            if (Math.log(v) + logInverseAlpha - Math.log(a / (us * us) + b) <= -mean + k * logMean - Distributions.logFactorial(k)) {
+                return (int) k;
+            }
+        }
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+}
@@ -0,0 +1,91 @@
+package dev.fumaz.commons.math.distribution;
+
+import dev.fumaz.commons.math.RandomSource;
+
+/**
+ * The Zipf distribution over the ranks {@code 1..n}, where the probability of rank k
+ * is proportional to {@code 1 / k^exponent}, such as the popularity of items or words.<br>
+ * Sampled with the rejection-inversion method of Hörmann and Derflinger,
+ * which takes a constant expected number of draws regardless of {@code n}.
+ */
+public final class ZipfDistribution implements DiscreteSampler {
+
+    private final int elements;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralElements;
+    private final double s;
+
+    /**
+     * @param elements the amount of ranks
+     * @param exponent the exponent, which must be positive
+     */
+    public ZipfDistribution(int elements, double exponent) {
+        if (elements <= 0) {
+            throw new IllegalArgumentException("Elements must be positive: " + elements);
+        }
+
+        Distributions.checkPositive(exponent, "Exponent");
+
+        this.elements = elements;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralElements = hIntegral(elements + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    private static double helper1(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+
+    private static double helper2(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x * (1.0 / 3) * (1 + 0.25 * x));
+    }
+
+    @Override
+    public int sample(RandomSource random) {
+        while (true) {
+            double u = hIntegralElements + random.nextDouble() * (hIntegralX1 - hIntegralElements);
+            double x = hIntegralInverse(u);
+            int k = (int) (x + 0.5);
+
+            if (k < 1) {
+                k = 1;
+            } else if (k > elements) {
+                k = elements;
+            }
+
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    public int getElements() {
+        return elements;
+    }
+
+    public double getExponent() {
+        return exponent;
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = x * (1 - exponent);
+
+        if (t < -1) {
+            t = -1;
+        }
+
+        return Math.exp(helper1(t) * x);
+    }
+
+}
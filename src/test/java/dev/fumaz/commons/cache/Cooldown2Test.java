@@ -0,0 +1,118 @@
+package dev.fumaz.commons.cache;
+
+import dev.fumaz.commons.collection.ImmutablePair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Cooldown2Test {
+
+    @Test
+    void put() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        Cooldown2<UUID, String> cooldown = new Cooldown2<>(10, TimeUnit.SECONDS, time);
+        UUID player = UUID.randomUUID();
+        cooldown.put(player, "fireball");
+        cooldown.put(player, "dash", 2, TimeUnit.SECONDS);
+
+        assertTrue(cooldown.has(player, "fireball"));
+        assertTrue(cooldown.has(player, "dash"));
+        assertFalse(cooldown.has(player, "heal"));
+        assertFalse(cooldown.has(UUID.randomUUID(), "fireball"));
+
+        time.advance(3, TimeUnit.SECONDS);
+        assertTrue(cooldown.has(player, "fireball"));
+        assertFalse(cooldown.has(player, "dash"));
+        assertEquals(7, cooldown.getSeconds(player, "fireball"));
+    }
+
+    @Test
+    void invalidateAll() {
+        Cooldown2<String, String> cooldown = new Cooldown2<>(1, TimeUnit.HOURS);
+
+        for (int i = 0; i < 100; i++) {
+            cooldown.put("a", "ability" + i);
+            cooldown.put("b", "ability" + i);
+        }
+
+        cooldown.invalidateAll("a");
+        assertFalse(cooldown.has("a", "ability0"));
+        assertTrue(cooldown.has("b", "ability0"));
+        assertEquals(100, cooldown.size());
+    }
+
+    @Test
+    void primitive() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        LongIntCooldown cooldown = new LongIntCooldown(10, TimeUnit.SECONDS, time);
+
+        for (long entity = 0; entity < 1_000; entity++) {
+            cooldown.put(entity, (int) (entity % 7));
+        }
+
+        assertTrue(cooldown.has(42L, 0));
+        assertFalse(cooldown.has(42L, 1));
+
+        cooldown.invalidateAll(42L);
+        assertFalse(cooldown.has(42L, 0));
+        assertEquals(999, cooldown.size());
+
+        time.advance(11, TimeUnit.SECONDS);
+        assertFalse(cooldown.has(43L, 1));
+        assertEquals(0, cooldown.size());
+    }
+
+    @Test
+    void expirationListener() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        Cooldown2<String, String> cooldown = new Cooldown2<>(10, TimeUnit.SECONDS, time);
+        List<ImmutablePair<String, String>> expired = new ArrayList<>();
+        List<Runnable> tasks = new ArrayList<>();
+        cooldown.setExpirationListener(expired::addAll, tasks::add);
+
+        cooldown.put("a", "fireball");
+        cooldown.put("a", "dash", 2, TimeUnit.SECONDS);
+
+        time.advance(3, TimeUnit.SECONDS);
+        cooldown.cleanUp();
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        assertEquals(1, expired.size());
+        assertEquals("a", expired.get(0).getFirst());
+        assertEquals("dash", expired.get(0).getSecond());
+    }
+
+    @Test
+    void primitiveExpirationListener() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        LongIntCooldown cooldown = new LongIntCooldown(10, TimeUnit.SECONDS, time);
+        List<Long> firsts = new ArrayList<>();
+        List<Integer> seconds = new ArrayList<>();
+        cooldown.setExpirationListener((expiredFirsts, expiredSeconds, length) -> {
+            for (int i = 0; i < length; i++) {
+                firsts.add(expiredFirsts[i]);
+                seconds.add(expiredSeconds[i]);
+            }
+        });
+
+        for (long entity = 0; entity < 100; entity++) {
+            cooldown.put(entity, (int) entity * 2);
+        }
+
+        time.advance(11, TimeUnit.SECONDS);
+        cooldown.cleanUp();
+
+        assertEquals(100, firsts.size());
+
+        for (int i = 0; i < firsts.size(); i++) {
+            assertEquals(firsts.get(i) * 2, (long) seconds.get(i));
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package dev.fumaz.commons.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CooldownSnapshotsTest {
+
+    @Test
+    void variable(@TempDir Path directory) throws IOException {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        VariableCooldown<UUID> cooldown = new VariableCooldown<>(10, TimeUnit.SECONDS, time);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        cooldown.put(first);
+        cooldown.put(second, 1, TimeUnit.SECONDS);
+
+        time.advance(4, TimeUnit.SECONDS);
+        Path path = directory.resolve("cooldowns.bin");
+        CooldownSnapshots.write(cooldown, KeyCodec.uuids(), path);
+
+        VariableCooldown<UUID> restored = new VariableCooldown<>(10, TimeUnit.SECONDS, new ManualTimeSource(50_000));
+        assertEquals(1, CooldownSnapshots.read(restored, KeyCodec.uuids(), path));
+        assertEquals(6, restored.getSeconds(first));
+        assertFalse(restored.has(second));
+    }
+
+    @Test
+    void striped() throws IOException {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        StripedCooldown<String> cooldown = new StripedCooldown<>(10, TimeUnit.SECONDS, 8, time);
+
+        for (int i = 0; i < 100; i++) {
+            cooldown.put("key" + i, i + 1, TimeUnit.SECONDS);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CooldownSnapshots.write(cooldown, KeyCodec.strings(), Channels.newChannel(bytes));
+
+        StripedCooldown<String> restored = new StripedCooldown<>(10, TimeUnit.SECONDS, 2, time);
+        long count = CooldownSnapshots.read(restored, KeyCodec.strings(), Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(100, count);
+        assertEquals(100, restored.size());
+        assertEquals(50, restored.getSeconds("key49"));
+    }
+
+    @Test
+    void primitive() throws IOException {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        LongCooldown cooldown = new LongCooldown(10, TimeUnit.SECONDS, time);
+
+        for (long i = -500; i < 500; i++) {
+            cooldown.put(i * 1_000_003L, 5, TimeUnit.SECONDS);
+        }
+
+        cooldown.put(Long.MIN_VALUE);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CooldownSnapshots.write(cooldown, Channels.newChannel(bytes));
+
+        LongCooldown restored = new LongCooldown(10, TimeUnit.SECONDS, time);
+        long count = CooldownSnapshots.read(restored, Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(1_001, count);
+        assertTrue(restored.has(-500 * 1_000_003L));
+        assertEquals(10, restored.getSeconds(Long.MIN_VALUE));
+        assertTrue(bytes.size() < 1_001 * 8);
+    }
+
+    @Test
+    void invalid() {
+        byte[] bytes = {1, 2, 3, 4, 5};
+
+        assertThrows(IOException.class, () -> CooldownSnapshots.read(new IntCooldown(1), Channels.newChannel(new ByteArrayInputStream(bytes))));
+    }
+
+    @Test
+    void leavesTrailingData(@TempDir Path directory) throws IOException {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        IntCooldown cooldown = new IntCooldown(10, TimeUnit.SECONDS, time);
+
+        for (int i = 0; i < 2_000; i++) {
+            cooldown.put(i);
+        }
+
+        // Two snapshots back to back, in a file and in a stream that cannot seek
+        Path path = directory.resolve("cooldowns.bin");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            CooldownSnapshots.write(cooldown, channel);
+            CooldownSnapshots.write(cooldown, channel);
+        }
+
+        CooldownSnapshots.write(cooldown, Channels.newChannel(bytes));
+        CooldownSnapshots.write(cooldown, Channels.newChannel(bytes));
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            assertEquals(2_000, CooldownSnapshots.read(new IntCooldown(10, TimeUnit.SECONDS, time), channel));
+            assertEquals(2_000, CooldownSnapshots.read(new IntCooldown(10, TimeUnit.SECONDS, time), channel));
+            assertEquals(channel.size(), channel.position());
+        }
+
+        ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(2_000, CooldownSnapshots.read(new IntCooldown(10, TimeUnit.SECONDS, time), channel));
+        assertEquals(2_000, CooldownSnapshots.read(new IntCooldown(10, TimeUnit.SECONDS, time), channel));
+    }
+
+}
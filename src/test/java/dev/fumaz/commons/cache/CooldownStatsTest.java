@@ -0,0 +1,91 @@
+package dev.fumaz.commons.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CooldownStatsTest {
+
+    @Test
+    void table() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        LongCooldown cooldown = new LongCooldown(10, TimeUnit.SECONDS, time);
+        cooldown.put(1L);
+        assertEquals(0, cooldown.stats().getPuts());
+
+        cooldown.recordStats();
+        cooldown.put(2L);
+        cooldown.put(3L, 20, TimeUnit.SECONDS);
+        cooldown.has(2L);
+        cooldown.has(4L);
+
+        CooldownStats stats = cooldown.stats();
+        assertEquals(2, stats.getPuts());
+        assertEquals(2, stats.getChecks());
+        assertEquals(1, stats.getHits());
+        assertEquals(0.5, stats.getHitRate());
+        assertEquals(3, stats.getSize());
+        assertEquals(13_333, stats.getAverageRemainingMillis());
+        assertTrue(stats.getEstimatedMemory() > 0);
+
+        time.advance(15, TimeUnit.SECONDS);
+        assertEquals(2, cooldown.stats().getExpirations());
+    }
+
+    @Test
+    void tableCountsActiveKeys() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        LongCooldown cooldown = new LongCooldown(10, TimeUnit.SECONDS, time);
+        cooldown.put(1L);
+        cooldown.put(2L, 10, TimeUnit.MILLISECONDS);
+
+        // The second key has expired, but less than a tick ago, so it is still in the table
+        time.advance(20, TimeUnit.MILLISECONDS);
+
+        CooldownStats stats = cooldown.stats();
+        assertEquals(1, stats.getSize());
+        assertEquals(9_980, stats.getAverageRemainingMillis());
+    }
+
+    @Test
+    void variable() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        StripedCooldown<String> cooldown = new StripedCooldown<>(10, TimeUnit.SECONDS, 4, time);
+        cooldown.recordStats();
+
+        for (int i = 0; i < 100; i++) {
+            cooldown.put("key" + i);
+            cooldown.has("key" + i);
+        }
+
+        time.advance(11, TimeUnit.SECONDS);
+        cooldown.cleanUp();
+
+        CooldownStats stats = cooldown.stats();
+        assertEquals(100, stats.getPuts());
+        assertEquals(100, stats.getHits());
+        assertEquals(100, stats.getExpirations());
+        assertEquals(0, stats.getSize());
+    }
+
+    @Test
+    void guava() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        Cooldown<String> cooldown = new Cooldown<>(10, TimeUnit.SECONDS, time);
+        cooldown.recordStats();
+        cooldown.put("a");
+        time.advance(4, TimeUnit.SECONDS);
+        cooldown.has("a");
+
+        CooldownStats stats = cooldown.stats();
+        assertEquals(1, stats.getPuts());
+        assertEquals(1, stats.getHits());
+        assertEquals(6_000, stats.getAverageRemainingMillis());
+
+        time.advance(10, TimeUnit.SECONDS);
+        assertEquals(1, cooldown.stats().getExpirations());
+    }
+
+}
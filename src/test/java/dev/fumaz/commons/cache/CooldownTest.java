@@ -0,0 +1,84 @@
+package dev.fumaz.commons.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CooldownTest {
+
+    @Test
+    void put() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        Cooldown<String> cooldown = new Cooldown<>(10, TimeUnit.SECONDS, time);
+        cooldown.put("a");
+
+        assertTrue(cooldown.has("a"));
+        assertFalse(cooldown.has("b"));
+        assertEquals(10, cooldown.getSeconds("a"));
+    }
+
+    @Test
+    void putAtTimeZero() {
+        ManualTimeSource time = new ManualTimeSource();
+        Cooldown<String> cooldown = new Cooldown<>(10, TimeUnit.SECONDS, time);
+        cooldown.put("a");
+
+        assertTrue(cooldown.has("a"));
+        assertEquals(10, cooldown.getSeconds("a"));
+        assertEquals(0, cooldown.getSeconds("b"));
+    }
+
+    @Test
+    void expire() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        Cooldown<String> cooldown = new Cooldown<>(10, TimeUnit.SECONDS, time);
+        cooldown.put("a");
+
+        time.advance(4, TimeUnit.SECONDS);
+        assertEquals(6, cooldown.getSeconds("a"));
+
+        time.advance(6, TimeUnit.SECONDS);
+        assertFalse(cooldown.has("a"));
+        assertEquals(0, cooldown.getSeconds("a"));
+    }
+
+    @Test
+    void expirationListener() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        Cooldown<String> cooldown = new Cooldown<>(10, TimeUnit.SECONDS, time);
+        List<List<String>> batches = new ArrayList<>();
+        cooldown.setExpirationListener(batches::add);
+
+        for (int i = 0; i < 100; i++) {
+            cooldown.put("key" + i);
+        }
+
+        cooldown.invalidate("key0");
+        time.advance(11, TimeUnit.SECONDS);
+        cooldown.cleanUp();
+
+        // Guava notifies every expiration on its own, but they are delivered in one batch
+        assertEquals(1, batches.size());
+
+        Set<String> expired = new HashSet<>(batches.get(0));
+        assertEquals(99, expired.size());
+        assertFalse(expired.contains("key0"));
+    }
+
+    @Test
+    void coarseTimeSource() throws InterruptedException {
+        try (CoarseTimeSource time = new CoarseTimeSource(1)) {
+            long start = time.millis();
+            Thread.sleep(50);
+
+            assertTrue(time.millis() > start);
+        }
+    }
+
+}
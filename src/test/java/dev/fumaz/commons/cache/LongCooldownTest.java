@@ -0,0 +1,133 @@
+package dev.fumaz.commons.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongCooldownTest {
+
+    @Test
+    void put() {
+        LongCooldown cooldown = new LongCooldown(1, TimeUnit.HOURS);
+        cooldown.put(1L);
+        cooldown.put(Long.MIN_VALUE);
+
+        assertTrue(cooldown.has(1L));
+        assertTrue(cooldown.has(Long.MIN_VALUE));
+        assertFalse(cooldown.has(2L));
+        assertEquals(2, cooldown.size());
+    }
+
+    @Test
+    void negativeDuration() {
+        LongCooldown cooldown = new LongCooldown(1, TimeUnit.HOURS);
+
+        assertThrows(IllegalArgumentException.class, () -> cooldown.put(1L, -1, TimeUnit.SECONDS));
+        assertFalse(cooldown.has(1L));
+        assertEquals(0, cooldown.size());
+    }
+
+    @Test
+    void invalidate() {
+        LongCooldown cooldown = new LongCooldown(1, TimeUnit.HOURS);
+        cooldown.put(1L);
+        cooldown.put(2L);
+        cooldown.invalidate(1L);
+
+        assertFalse(cooldown.has(1L));
+        assertTrue(cooldown.has(2L));
+        assertEquals(1, cooldown.size());
+
+        cooldown.invalidateAll();
+        assertFalse(cooldown.has(2L));
+        assertEquals(0, cooldown.size());
+    }
+
+    @Test
+    void get() {
+        LongCooldown cooldown = new LongCooldown(1, TimeUnit.HOURS);
+        cooldown.put(1L);
+
+        assertTrue(cooldown.getSeconds(1L) > 3500);
+        assertEquals(0, cooldown.getSeconds(2L));
+    }
+
+    @Test
+    void expire() {
+        LongCooldown cooldown = new LongCooldown(0);
+        cooldown.put(1L);
+
+        assertFalse(cooldown.has(1L));
+        assertEquals(0, cooldown.getMillis(1L));
+    }
+
+    @Test
+    void resize() {
+        LongCooldown cooldown = new LongCooldown(1, TimeUnit.HOURS);
+
+        for (long i = 0; i < 10_000; i++) {
+            cooldown.put(i * 31);
+        }
+
+        for (long i = 0; i < 10_000; i += 2) {
+            cooldown.invalidate(i * 31);
+        }
+
+        for (long i = 0; i < 10_000; i++) {
+            assertEquals(i % 2 == 1, cooldown.has(i * 31));
+        }
+
+        assertEquals(5_000, cooldown.size());
+    }
+
+    @Test
+    void expireWithTimeSource() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        LongCooldown cooldown = new LongCooldown(10, TimeUnit.SECONDS, time);
+        cooldown.put(1L);
+
+        time.advance(4, TimeUnit.SECONDS);
+        cooldown.put(2L);
+        assertEquals(6, cooldown.getSeconds(1L));
+        assertEquals(2, cooldown.size());
+
+        time.advance(7, TimeUnit.SECONDS);
+        assertFalse(cooldown.has(1L));
+        assertTrue(cooldown.has(2L));
+        assertEquals(1, cooldown.size());
+
+        time.advance(1, TimeUnit.HOURS);
+        assertFalse(cooldown.has(2L));
+        assertEquals(0, cooldown.size());
+    }
+
+    @Test
+    void expirationListener() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        LongCooldown cooldown = new LongCooldown(10, TimeUnit.SECONDS, time);
+        List<Long> expired = new ArrayList<>();
+        List<Runnable> tasks = new ArrayList<>();
+        cooldown.setExpirationListener((keys, length) -> {
+            for (int i = 0; i < length; i++) {
+                expired.add(keys[i]);
+            }
+        }, tasks::add);
+
+        for (long i = 0; i < 100; i++) {
+            cooldown.put(i);
+        }
+
+        time.advance(11, TimeUnit.SECONDS);
+        cooldown.cleanUp();
+        assertEquals(1, tasks.size());
+        assertTrue(expired.isEmpty());
+
+        tasks.get(0).run();
+        assertEquals(100, expired.size());
+    }
+
+}
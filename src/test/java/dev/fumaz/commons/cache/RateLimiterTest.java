@@ -0,0 +1,186 @@
+package dev.fumaz.commons.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    @Test
+    void tokenBucket() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        TokenBucketRateLimiter<String> limiter = new TokenBucketRateLimiter<>(2, 1, TimeUnit.SECONDS, 4, time);
+
+        assertEquals(4, limiter.available("a"));
+        assertTrue(limiter.tryAcquire("a", 3));
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("b", 4));
+
+        time.advance(500, TimeUnit.MILLISECONDS);
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+
+        time.advance(10, TimeUnit.SECONDS);
+        assertEquals(4, limiter.available("a"));
+        assertFalse(limiter.tryAcquire("a", 5));
+
+        limiter.cleanUp();
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void subMillisecondWindow() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        SlidingLogRateLimiter<String> log = new SlidingLogRateLimiter<>(1, 500, TimeUnit.MICROSECONDS, time);
+        SlidingWindowRateLimiter<String> window = new SlidingWindowRateLimiter<>(1, 500, TimeUnit.MICROSECONDS, time);
+
+        // Windows shorter than the clock resolution last one millisecond
+        assertTrue(log.tryAcquire("a"));
+        assertFalse(log.tryAcquire("a"));
+        assertTrue(window.tryAcquire("a"));
+        assertFalse(window.tryAcquire("a"));
+
+        time.advance(1, TimeUnit.MILLISECONDS);
+        assertTrue(log.tryAcquire("a"));
+    }
+
+    @Test
+    void slidingLog() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        SlidingLogRateLimiter<String> limiter = new SlidingLogRateLimiter<>(3, 1, TimeUnit.SECONDS, time);
+
+        assertTrue(limiter.tryAcquire("a"));
+        time.advance(400, TimeUnit.MILLISECONDS);
+        assertTrue(limiter.tryAcquire("a", 2));
+        assertFalse(limiter.tryAcquire("a"));
+
+        time.advance(600, TimeUnit.MILLISECONDS);
+        assertEquals(1, limiter.available("a"));
+        assertTrue(limiter.tryAcquire("a"));
+        assertFalse(limiter.tryAcquire("a"));
+
+        time.advance(400, TimeUnit.MILLISECONDS);
+        assertEquals(2, limiter.available("a"));
+
+        limiter.reset("a");
+        assertEquals(3, limiter.available("a"));
+    }
+
+    @Test
+    void slidingWindow() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        SlidingWindowRateLimiter<String> limiter = new SlidingWindowRateLimiter<>(10, 1, TimeUnit.SECONDS, time);
+
+        assertTrue(limiter.tryAcquire("a", 10));
+        assertFalse(limiter.tryAcquire("a"));
+
+        // Half of the previous window still overlaps, so half of its permits still count
+        time.advance(1_500, TimeUnit.MILLISECONDS);
+        assertEquals(5, limiter.available("a"));
+        assertTrue(limiter.tryAcquire("a", 5));
+        assertFalse(limiter.tryAcquire("a"));
+
+        time.advance(5, TimeUnit.SECONDS);
+        limiter.cleanUp();
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void concurrentAcquire() throws InterruptedException {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        TokenBucketRateLimiter<String> limiter = new TokenBucketRateLimiter<>(1_000, 1, TimeUnit.HOURS, time);
+        Thread[] threads = new Thread[8];
+        int[] acquired = new int[threads.length];
+
+        for (int t = 0; t < threads.length; t++) {
+            int index = t;
+
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    if (limiter.tryAcquire("shared")) {
+                        acquired[index]++;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+
+        int total = 0;
+
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+            total += acquired[t];
+        }
+
+        assertEquals(1_000, total);
+    }
+
+    @Test
+    void invalidPermits() {
+        List<RateLimiter<String>> limiters = Arrays.asList(
+                new TokenBucketRateLimiter<>(2, 1, TimeUnit.SECONDS),
+                new SlidingLogRateLimiter<>(2, 1, TimeUnit.SECONDS),
+                new SlidingWindowRateLimiter<>(2, 1, TimeUnit.SECONDS)
+        );
+
+        for (RateLimiter<String> limiter : limiters) {
+            assertThrows(IllegalArgumentException.class, () -> limiter.tryAcquire("a", -1));
+            assertThrows(IllegalArgumentException.class, () -> limiter.tryAcquire("a", 0));
+        }
+    }
+
+    @Test
+    void cleanUpWhileAcquiring() throws InterruptedException {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        List<RateLimiter<Integer>> limiters = Arrays.asList(
+                new TokenBucketRateLimiter<>(1, 1, TimeUnit.HOURS, time),
+                new SlidingLogRateLimiter<>(1, 1, TimeUnit.HOURS, time),
+                new SlidingWindowRateLimiter<>(1, 1, TimeUnit.HOURS, time)
+        );
+        int keys = 200_000;
+
+        for (RateLimiter<Integer> limiter : limiters) {
+            AtomicIntegerArray acquired = new AtomicIntegerArray(keys);
+            AtomicBoolean running = new AtomicBoolean(true);
+            Thread cleaner = new Thread(() -> {
+                while (running.get()) {
+                    limiter.cleanUp();
+                }
+            });
+            Thread[] threads = new Thread[4];
+
+            cleaner.start();
+
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    for (int key = 0; key < keys; key++) {
+                        if (limiter.tryAcquire(key)) {
+                            acquired.incrementAndGet(key);
+                        }
+                    }
+                });
+                threads[t].start();
+            }
+
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            running.set(false);
+            cleaner.join();
+
+            // A state removed while a thread was still acquiring from it would let a key through twice
+            for (int key = 0; key < keys; key++) {
+                assertEquals(1, acquired.get(key));
+            }
+        }
+    }
+
+}
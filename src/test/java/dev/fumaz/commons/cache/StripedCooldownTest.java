@@ -0,0 +1,140 @@
+package dev.fumaz.commons.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedCooldownTest {
+
+    private static <T> T onAnotherThread(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    void put() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        StripedCooldown<String> cooldown = new StripedCooldown<>(10, TimeUnit.SECONDS, 3, time);
+        cooldown.put("a");
+        cooldown.put("b", 1, TimeUnit.SECONDS);
+
+        assertEquals(4, cooldown.getStripes());
+        assertTrue(cooldown.has("a"));
+        assertTrue(cooldown.has("b"));
+
+        time.advance(2, TimeUnit.SECONDS);
+        assertFalse(cooldown.has("b"));
+        assertEquals(8, cooldown.getSeconds("a"));
+        assertEquals(1, cooldown.size());
+    }
+
+    @Test
+    void concurrentPut() throws InterruptedException {
+        StripedLongCooldown cooldown = new StripedLongCooldown(1, TimeUnit.HOURS, 16);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 8; t++) {
+            long offset = t * 10_000L;
+
+            threads.add(new Thread(() -> {
+                for (long i = 0; i < 10_000; i++) {
+                    cooldown.put(offset + i);
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, cooldown.size());
+        assertTrue(cooldown.has(79_999L));
+        assertTrue(cooldown.getAcquisitions() >= 80_000);
+        assertTrue(cooldown.getContendedAcquisitions() <= cooldown.getAcquisitions());
+
+        cooldown.resetContentionCounters();
+        assertEquals(0, cooldown.getAcquisitions());
+    }
+
+    @Test
+    void listenerRunsUnlocked() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        StripedCooldown<String> cooldown = new StripedCooldown<>(10, TimeUnit.SECONDS, 1, time);
+        List<Boolean> reentered = new ArrayList<>();
+
+        // Another thread can only use the stripe if the listener is not holding its lock
+        cooldown.setExpirationListener(objects -> reentered.add(onAnotherThread(() -> {
+            cooldown.put("b");
+            return cooldown.has("b");
+        })));
+
+        cooldown.put("a");
+        time.advance(11, TimeUnit.SECONDS);
+        cooldown.cleanUp();
+
+        assertEquals(1, reentered.size());
+        assertTrue(reentered.get(0));
+    }
+
+    @Test
+    void primitiveListenerRunsUnlocked() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        StripedLongCooldown cooldown = new StripedLongCooldown(10, TimeUnit.SECONDS, 1, time);
+        List<Long> expired = new ArrayList<>();
+
+        cooldown.setExpirationListener((keys, length) -> {
+            for (int i = 0; i < length; i++) {
+                expired.add(keys[i]);
+            }
+
+            onAnotherThread(() -> {
+                cooldown.put(-1);
+                return true;
+            });
+        });
+
+        for (long key = 0; key < 100; key++) {
+            cooldown.put(key);
+        }
+
+        time.advance(11, TimeUnit.SECONDS);
+        cooldown.cleanUp();
+
+        assertEquals(100, expired.size());
+        assertTrue(cooldown.has(-1));
+    }
+
+    @Test
+    void lazyStripes() {
+        StripedCooldown<String> cooldown = new StripedCooldown<>(10, TimeUnit.SECONDS, 64);
+
+        assertEquals(0, cooldown.stats().getEstimatedMemory());
+        assertFalse(cooldown.has("a"));
+        assertEquals(0, cooldown.size());
+
+        cooldown.put("a");
+        assertTrue(cooldown.has("a"));
+        assertTrue(cooldown.stats().getEstimatedMemory() > 0);
+    }
+
+    @Test
+    void negativeDuration() {
+        StripedCooldown<String> cooldown = new StripedCooldown<>(10, TimeUnit.SECONDS, 4);
+
+        assertThrows(IllegalArgumentException.class, () -> cooldown.put("a", -1, TimeUnit.SECONDS));
+        assertFalse(cooldown.has("a"));
+        assertEquals(0, cooldown.stats().getEstimatedMemory());
+    }
+
+}
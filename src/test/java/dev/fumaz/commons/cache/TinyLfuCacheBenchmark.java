@@ -0,0 +1,92 @@
+package dev.fumaz.commons.cache;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link TinyLfuCache} with a Guava {@link LoadingCache} of the same size
+ * on a skewed workload, where a few keys are much more popular than the rest.<br>
+ * Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TinyLfuCacheBenchmark {
+
+    private static final int SIZE = 1 << 12;
+    private static final int KEYS = 1 << 16;
+
+    private Integer[] keys;
+    private TinyLfuCache<Integer, Integer> tinyLfu;
+    private LoadingCache<Integer, Integer> guava;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TinyLfuCacheBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        keys = new Integer[KEYS];
+
+        for (int i = 0; i < KEYS; i++) {
+            // Squaring a uniform number skews the keys towards the low end
+            double uniform = random.nextDouble();
+            keys[i] = (int) (uniform * uniform * SIZE * 8);
+        }
+
+        tinyLfu = TinyLfuCache.<Integer, Integer>builder()
+                .setMaximumSize(SIZE)
+                .build(key -> key);
+
+        guava = CacheBuilder.newBuilder()
+                .maximumSize(SIZE)
+                .build(CacheLoader.from(key -> key));
+    }
+
+    @Benchmark
+    public Integer tinyLfu(ThreadIndex index) {
+        return tinyLfu.get(keys[index.next()]);
+    }
+
+    @Benchmark
+    public Integer guava(ThreadIndex index) {
+        return guava.getUnchecked(keys[index.next()]);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadIndex {
+
+        private int index = (int) (Thread.currentThread().getId() * 7919);
+
+        int next() {
+            return index++ & (KEYS - 1);
+        }
+
+    }
+
+}
@@ -0,0 +1,231 @@
+package dev.fumaz.commons.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TinyLfuCacheTest {
+
+    @Test
+    void loadsOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        TinyLfuCache<String, Integer> cache = TinyLfuCache.<String, Integer>builder()
+                .setMaximumSize(10)
+                .build(key -> {
+                    loads.incrementAndGet();
+                    return key.length();
+                });
+
+        assertEquals(5, cache.get("hello"));
+        assertEquals(5, cache.get("hello"));
+        assertEquals(1, loads.get());
+        assertNull(cache.getIfPresent("world"));
+
+        cache.invalidate("hello");
+        assertNull(cache.getIfPresent("hello"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void bounded() {
+        TinyLfuCache<Integer, Integer> cache = TinyLfuCache.<Integer, Integer>builder()
+                .setMaximumSize(100)
+                .build(key -> key);
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.get(i);
+        }
+
+        assertTrue(cache.size() <= 100);
+        assertEquals(cache.size(), cache.weightedSize());
+    }
+
+    @Test
+    void keepsFrequentKeys() {
+        TinyLfuCache<Integer, Integer> cache = TinyLfuCache.<Integer, Integer>builder()
+                .setMaximumSize(100)
+                .build(key -> key);
+
+        for (int round = 0; round < 10; round++) {
+            for (int hot = 0; hot < 50; hot++) {
+                cache.get(hot);
+            }
+        }
+
+        // A scan of keys seen once should not flush the popular ones
+        for (int cold = 1000; cold < 5000; cold++) {
+            cache.get(cold);
+        }
+
+        int retained = 0;
+
+        for (int hot = 0; hot < 50; hot++) {
+            if (cache.getIfPresent(hot) != null) {
+                retained++;
+            }
+        }
+
+        assertTrue(retained >= 45, "Only " + retained + " popular keys were retained");
+    }
+
+    @Test
+    void smallCacheAdmitsNewKeys() {
+        TinyLfuCache<Integer, Integer> cache = TinyLfuCache.<Integer, Integer>builder()
+                .setMaximumSize(10)
+                .build(key -> key);
+
+        for (int key = 0; key < 10; key++) {
+            cache.get(key);
+        }
+
+        for (int key = 100; key < 200; key++) {
+            cache.get(key);
+
+            // The newest key always gets a chance in the window, instead of being rejected outright
+            assertEquals(key, cache.getIfPresent(key));
+        }
+
+        assertTrue(cache.size() <= 10);
+    }
+
+    @Test
+    void readBuffer() {
+        ReadBuffer<Integer> buffer = new ReadBuffer<>();
+        List<Integer> drained = new ArrayList<>();
+
+        buffer.drain(drained::add);
+        assertTrue(drained.isEmpty());
+
+        for (int i = 0; i < 10; i++) {
+            buffer.offer(i);
+        }
+
+        buffer.drain(drained::add);
+        assertEquals(10, drained.size());
+
+        // The ring of a stripe is lossy, only the latest reads are kept
+        drained.clear();
+
+        for (int i = 0; i < 1_000; i++) {
+            buffer.offer(i);
+        }
+
+        buffer.drain(drained::add);
+        assertTrue(drained.size() < 1_000);
+        assertTrue(drained.contains(999));
+    }
+
+    @Test
+    void weighted() {
+        TinyLfuCache<String, String> cache = TinyLfuCache.<String, String>builder()
+                .setMaximumWeight(100, (key, value) -> value.length())
+                .build(key -> key);
+
+        for (int i = 0; i < 100; i++) {
+            cache.get("key-" + i);
+        }
+
+        assertTrue(cache.weightedSize() <= 100);
+    }
+
+    @Test
+    void refreshAfterWrite() throws InterruptedException {
+        ManualTimeSource time = new ManualTimeSource();
+        AtomicInteger version = new AtomicInteger();
+        CountDownLatch refreshed = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        TinyLfuCache<String, Integer> cache = TinyLfuCache.<String, Integer>builder()
+                .setMaximumSize(10)
+                .setRefreshAfterWrite(1, TimeUnit.SECONDS)
+                .setTimeSource(time)
+                .setExecutor(command -> executor.execute(() -> {
+                    command.run();
+                    refreshed.countDown();
+                }))
+                .build(key -> version.incrementAndGet());
+
+        assertEquals(1, cache.get("key"));
+        time.advance(2, TimeUnit.SECONDS);
+
+        // The stale value is served while the refresh runs
+        assertEquals(1, cache.get("key"));
+        assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+        assertEquals(2, cache.get("key"));
+
+        executor.shutdown();
+    }
+
+    @Test
+    void refreshRejected() {
+        ManualTimeSource time = new ManualTimeSource();
+        AtomicInteger version = new AtomicInteger();
+        AtomicBoolean rejecting = new AtomicBoolean();
+
+        TinyLfuCache<String, Integer> cache = TinyLfuCache.<String, Integer>builder()
+                .setMaximumSize(10)
+                .setRefreshAfterWrite(1, TimeUnit.SECONDS)
+                .setTimeSource(time)
+                .setExecutor(command -> {
+                    if (rejecting.get()) {
+                        throw new RejectedExecutionException();
+                    }
+
+                    command.run();
+                })
+                .build(key -> version.incrementAndGet());
+
+        assertEquals(1, cache.get("key"));
+        time.advance(2, TimeUnit.SECONDS);
+        rejecting.set(true);
+
+        // Rejected refreshes are dropped, and the next read tries again
+        assertEquals(1, cache.get("key"));
+        cache.refresh("key");
+
+        rejecting.set(false);
+        assertEquals(1, cache.get("key"));
+        assertEquals(2, cache.get("key"));
+    }
+
+    @Test
+    void singleFlight() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        TinyLfuCache<String, Integer> cache = TinyLfuCache.<String, Integer>builder()
+                .setMaximumSize(10)
+                .setExecutor(executor)
+                .build(key -> {
+                    loads.incrementAndGet();
+
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    return 1;
+                });
+
+        assertSame(cache.getAsync("key"), cache.getAsync("key"));
+
+        release.countDown();
+        assertEquals(1, cache.getAsync("key").get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+
+        executor.shutdown();
+    }
+
+}
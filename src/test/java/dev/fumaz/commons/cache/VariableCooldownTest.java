@@ -0,0 +1,115 @@
+package dev.fumaz.commons.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VariableCooldownTest {
+
+    @Test
+    void put() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        VariableCooldown<String> cooldown = new VariableCooldown<>(10, TimeUnit.SECONDS, time);
+        cooldown.put("default");
+        cooldown.put("short", 500, TimeUnit.MILLISECONDS);
+        cooldown.put("long", 2, TimeUnit.DAYS);
+
+        assertEquals(10, cooldown.getSeconds("default"));
+        assertEquals(500, cooldown.getMillis("short"));
+        assertEquals(2, cooldown.get("long", TimeUnit.DAYS));
+        assertEquals(3, cooldown.size());
+    }
+
+    @Test
+    void expire() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        VariableCooldown<Integer> cooldown = new VariableCooldown<>(0, TimeUnit.SECONDS, time);
+
+        for (int i = 1; i <= 1_000; i++) {
+            cooldown.put(i, i * 97L, TimeUnit.SECONDS);
+        }
+
+        for (int second = 0; second <= 100_000; second += 250) {
+            time.set(1_000 + second * 1_000L);
+            cooldown.cleanUp();
+
+            int expected = Math.max(0, 1_000 - second / 97);
+            assertEquals(expected, cooldown.size(), "after " + second + " seconds");
+        }
+    }
+
+    @Test
+    void negativeDuration() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        VariableCooldown<String> cooldown = new VariableCooldown<>(10, TimeUnit.SECONDS, time);
+
+        assertThrows(IllegalArgumentException.class, () -> cooldown.put("a", -1, TimeUnit.SECONDS));
+        assertFalse(cooldown.has("a"));
+        assertEquals(0, cooldown.size());
+
+        cooldown.put("a", Long.MAX_VALUE, TimeUnit.DAYS);
+        time.advance(365, TimeUnit.DAYS);
+        assertTrue(cooldown.has("a"));
+    }
+
+    @Test
+    void replace() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        VariableCooldown<String> cooldown = new VariableCooldown<>(10, TimeUnit.SECONDS, time);
+        cooldown.put("a", 1, TimeUnit.HOURS);
+        cooldown.put("a", 1, TimeUnit.SECONDS);
+
+        time.advance(2, TimeUnit.SECONDS);
+        assertFalse(cooldown.has("a"));
+        assertEquals(0, cooldown.size());
+    }
+
+    @Test
+    void invalidate() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        VariableCooldown<String> cooldown = new VariableCooldown<>(10, TimeUnit.SECONDS, time);
+        cooldown.put("a");
+        cooldown.put("b");
+        cooldown.invalidate("a");
+
+        assertFalse(cooldown.has("a"));
+        assertTrue(cooldown.has("b"));
+
+        cooldown.invalidateAll();
+        assertEquals(0, cooldown.size());
+
+        cooldown.put("c");
+        time.advance(11, TimeUnit.SECONDS);
+        assertEquals(0, cooldown.size());
+    }
+
+    @Test
+    void expirationListener() {
+        ManualTimeSource time = new ManualTimeSource(1_000);
+        VariableCooldown<String> cooldown = new VariableCooldown<>(10, TimeUnit.SECONDS, time);
+        List<List<String>> batches = new ArrayList<>();
+        cooldown.setExpirationListener(batches::add);
+        cooldown.put("a", 1, TimeUnit.SECONDS);
+        cooldown.put("b", 1, TimeUnit.SECONDS);
+        cooldown.put("c", 1, TimeUnit.MINUTES);
+
+        time.advance(2, TimeUnit.SECONDS);
+        cooldown.cleanUp();
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertTrue(batches.get(0).containsAll(Arrays.asList("a", "b")));
+
+        cooldown.cleanUp();
+        assertEquals(1, batches.size());
+
+        time.advance(1, TimeUnit.MINUTES);
+        cooldown.cleanUp();
+        assertEquals(Arrays.asList("c"), batches.get(1));
+    }
+
+}
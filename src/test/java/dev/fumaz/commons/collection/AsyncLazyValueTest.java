@@ -0,0 +1,106 @@
+package dev.fumaz.commons.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLazyValueTest {
+
+    @Test
+    void singleFlight() {
+        AtomicInteger computations = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        AsyncLazyValue<Integer> value = new AsyncLazyValue<>(computations::incrementAndGet, tasks::add);
+
+        CompletableFuture<Integer> first = value.get();
+        assertSame(first, value.get());
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        assertEquals(1, first.join());
+        assertEquals(1, value.join());
+        assertTrue(value.isDone());
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    void cancel() {
+        AtomicInteger computations = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        AsyncLazyValue<Integer> value = new AsyncLazyValue<>(computations::incrementAndGet, tasks::add);
+
+        CompletableFuture<Integer> cancelled = value.get();
+        assertTrue(value.cancel());
+        assertTrue(cancelled.isCancelled());
+
+        // The cancelled task does nothing, and the next call starts over
+        tasks.get(0).run();
+        assertEquals(0, computations.get());
+
+        CompletableFuture<Integer> retried = value.get();
+        assertNotSame(cancelled, retried);
+        tasks.get(1).run();
+        assertEquals(1, retried.join());
+    }
+
+    @Test
+    void retriesAfterFailure() {
+        AtomicInteger attempts = new AtomicInteger();
+        AsyncLazyValue<String> value = new AsyncLazyValue<>(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("First attempt");
+            }
+
+            return "loaded";
+        }, Runnable::run);
+
+        assertThrows(IllegalStateException.class, value::join);
+        assertEquals("loaded", value.join());
+    }
+
+    @Test
+    void rejectedConcurrently() throws InterruptedException {
+        AsyncLazyValue<String> value = new AsyncLazyValue<>(() -> "loaded", command -> {
+            throw new RejectedExecutionException();
+        });
+        Thread[] threads = new Thread[4];
+        AtomicInteger missing = new AtomicInteger();
+
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    CompletableFuture<String> future = value.get();
+
+                    if (future == null || future.handle((result, throwable) -> throwable == null).join()) {
+                        missing.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, missing.get());
+    }
+
+    @Test
+    void prewarm() {
+        AsyncLazyValue<String> first = new AsyncLazyValue<>(() -> "first");
+        AsyncLazyValue<String> second = new AsyncLazyValue<>(() -> "second");
+
+        AsyncLazyValue.prewarm(first, second).join();
+        assertTrue(first.isDone());
+        assertTrue(second.isDone());
+        assertEquals("second", second.join());
+    }
+
+}
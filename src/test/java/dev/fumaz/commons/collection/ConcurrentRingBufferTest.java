@@ -0,0 +1,82 @@
+package dev.fumaz.commons.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentRingBufferTest {
+
+    @Test
+    void overwritesOldest() {
+        ConcurrentRingBuffer<Integer> buffer = new ConcurrentRingBuffer<>(3);
+
+        for (int i = 1; i <= 5; i++) {
+            buffer.push(i);
+        }
+
+        assertEquals(Arrays.asList(3, 4, 5), buffer.snapshot());
+        assertEquals(5, buffer.peek());
+        assertEquals(3, buffer.size());
+        assertEquals(5, buffer.getPushCount());
+    }
+
+    @Test
+    void poll() {
+        ConcurrentRingBuffer<Integer> buffer = new ConcurrentRingBuffer<>(3);
+        buffer.push(1);
+        buffer.push(2);
+
+        assertEquals(1, buffer.poll());
+
+        // 2 is overwritten before being polled
+        for (int i = 3; i <= 6; i++) {
+            buffer.push(i);
+        }
+
+        assertEquals(4, buffer.poll());
+        assertEquals(5, buffer.poll());
+        assertEquals(6, buffer.poll());
+        assertNull(buffer.poll());
+
+        // Polling does not change the history
+        assertEquals(Arrays.asList(4, 5, 6), buffer.snapshot());
+    }
+
+    @Test
+    void concurrentProducers() throws InterruptedException {
+        ConcurrentRingBuffer<Integer> buffer = new ConcurrentRingBuffer<>(100);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            int offset = t * 1_000_000;
+
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    buffer.push(offset + i);
+
+                    if (i % 100 == 0) {
+                        assertTrue(buffer.snapshot().size() <= 100);
+                    }
+                }
+            });
+
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<Integer> snapshot = buffer.snapshot();
+        assertEquals(100, snapshot.size());
+        assertEquals(100, new HashSet<>(snapshot).size());
+        assertEquals(40_000, buffer.getPushCount());
+    }
+
+}
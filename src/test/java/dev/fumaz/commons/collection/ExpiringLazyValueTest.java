@@ -0,0 +1,54 @@
+package dev.fumaz.commons.collection;
+
+import dev.fumaz.commons.cache.ManualTimeSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringLazyValueTest {
+
+    @Test
+    void expires() {
+        ManualTimeSource time = new ManualTimeSource();
+        AtomicInteger version = new AtomicInteger();
+        ExpiringLazyValue<Integer> value = new ExpiringLazyValue<>(version::incrementAndGet, 10, TimeUnit.SECONDS, null, time);
+
+        assertEquals(1, value.get());
+        time.advance(5, TimeUnit.SECONDS);
+        assertEquals(1, value.get());
+
+        time.advance(5, TimeUnit.SECONDS);
+        assertTrue(value.isExpired());
+        assertEquals(2, value.get());
+
+        value.invalidate();
+        assertFalse(value.isInitialized());
+        assertEquals(3, value.get());
+    }
+
+    @Test
+    void refreshesInBackground() {
+        ManualTimeSource time = new ManualTimeSource();
+        AtomicInteger version = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        ExpiringLazyValue<Integer> value = new ExpiringLazyValue<>(version::incrementAndGet, 10, TimeUnit.SECONDS, tasks::add, time);
+
+        assertEquals(1, value.get());
+        time.advance(10, TimeUnit.SECONDS);
+
+        // The stale value is served, and only one refresh is scheduled
+        assertEquals(1, value.get());
+        assertEquals(1, value.get());
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        assertEquals(2, value.get());
+        assertFalse(value.isExpired());
+    }
+
+}
@@ -0,0 +1,82 @@
+package dev.fumaz.commons.collection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of reading an initialized {@link LazyValue} in every mode,
+ * against a plain volatile field read as the baseline.<br>
+ * Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyValueBenchmark {
+
+    private volatile Object baseline = new Object();
+    private LazyValue<Object> none;
+    private LazyValue<Object> synchronizedValue;
+    private LazyValue<Object> publication;
+    private LazyValue<Object> threadLocal;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LazyValueBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        none = LazyValue.of(Object::new, LazyValue.Mode.NONE);
+        synchronizedValue = LazyValue.of(Object::new, LazyValue.Mode.SYNCHRONIZED);
+        publication = LazyValue.of(Object::new, LazyValue.Mode.PUBLICATION);
+        threadLocal = LazyValue.of(Object::new, LazyValue.Mode.THREAD_LOCAL);
+
+        none.get();
+        synchronizedValue.get();
+        publication.get();
+        threadLocal.get();
+    }
+
+    @Benchmark
+    public Object volatileRead() {
+        return baseline;
+    }
+
+    @Benchmark
+    public Object none() {
+        return none.get();
+    }
+
+    @Benchmark
+    public Object synchronizedMode() {
+        return synchronizedValue.get();
+    }
+
+    @Benchmark
+    public Object publication() {
+        return publication.get();
+    }
+
+    @Benchmark
+    public Object threadLocal() {
+        return threadLocal.get();
+    }
+
+}
@@ -0,0 +1,99 @@
+package dev.fumaz.commons.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyValueTest {
+
+    @Test
+    void memoizesNull() {
+        for (LazyValue.Mode mode : LazyValue.Mode.values()) {
+            AtomicInteger computations = new AtomicInteger();
+            LazyValue<String> value = LazyValue.of(() -> {
+                computations.incrementAndGet();
+                return null;
+            }, mode);
+
+            assertFalse(value.isInitialized());
+            assertNull(value.get());
+            assertNull(value.get());
+            assertTrue(value.isInitialized());
+            assertEquals(1, computations.get(), mode.name());
+        }
+    }
+
+    @Test
+    void computesOnceAcrossThreads() throws InterruptedException {
+        for (LazyValue.Mode mode : new LazyValue.Mode[]{LazyValue.Mode.SYNCHRONIZED, LazyValue.Mode.PUBLICATION}) {
+            AtomicInteger computations = new AtomicInteger();
+            LazyValue<Object> value = LazyValue.of(() -> {
+                computations.incrementAndGet();
+                return new Object();
+            }, mode);
+
+            CountDownLatch start = new CountDownLatch(1);
+            List<Object> results = new ArrayList<>();
+            List<Thread> threads = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+
+                    Object result = value.get();
+
+                    synchronized (results) {
+                        results.add(result);
+                    }
+                });
+
+                thread.start();
+                threads.add(thread);
+            }
+
+            start.countDown();
+
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(8, results.size());
+            assertTrue(results.stream().allMatch(result -> result == results.get(0)), mode.name());
+
+            if (mode == LazyValue.Mode.SYNCHRONIZED) {
+                assertEquals(1, computations.get());
+            }
+        }
+    }
+
+    @Test
+    void threadLocal() throws InterruptedException {
+        AtomicInteger computations = new AtomicInteger();
+        LazyValue<Integer> value = LazyValue.of(computations::incrementAndGet, LazyValue.Mode.THREAD_LOCAL);
+
+        assertFalse(value.isInitialized());
+        assertEquals(1, value.get());
+        assertEquals(1, value.get());
+        assertTrue(value.isInitialized());
+
+        Thread thread = new Thread(() -> {
+            assertFalse(value.isInitialized());
+            assertEquals(2, value.get());
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(2, computations.get());
+        assertEquals(1, value.get());
+    }
+
+}
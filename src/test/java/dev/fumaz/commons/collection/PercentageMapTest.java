@@ -0,0 +1,74 @@
+package dev.fumaz.commons.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PercentageMapTest {
+
+    @Test
+    void sampleInto() {
+        PercentageMap<String> map = new PercentageMap<>();
+        map.put("common", 60.0);
+        map.put("rare", 30.0);
+
+        List<String> keys = new ArrayList<>(map.keySet());
+        int[] counts = new int[2];
+        map.sampleInto(counts, 200_000);
+
+        // The last 10% hits nothing, and the batch is large enough to run in parallel
+        assertEquals(120_000, counts[keys.indexOf("common")], 2000);
+        assertEquals(60_000, counts[keys.indexOf("rare")], 2000);
+    }
+
+    @Test
+    void sample() {
+        PercentageMap<String> map = new PercentageMap<>();
+        map.put("always", 100.0);
+
+        List<String> sample = map.sample(1000);
+        assertEquals(1000, sample.size());
+        assertTrue(sample.stream().allMatch("always"::equals));
+    }
+
+    @Test
+    void sampleDistinct() {
+        PercentageMap<Integer> map = new PercentageMap<>();
+
+        for (int i = 0; i < 10; i++) {
+            map.put(i, 10.0);
+        }
+
+        map.put(10, 0.0);
+
+        List<Integer> sample = map.sampleDistinct(20);
+        assertEquals(10, sample.size());
+        assertEquals(10, new HashSet<>(sample).size());
+        assertFalse(sample.contains(10));
+    }
+
+    @Test
+    void compile() {
+        PercentageMap<String> map = new PercentageMap<>();
+        map.put("common", 75.0);
+        map.put("rare", 25.0);
+
+        CompiledPercentageMap<String> compiled = map.compile();
+        int[] counts = new int[compiled.size()];
+        compiled.sampleInto(counts, 40_000);
+
+        for (int i = 0; i < compiled.size(); i++) {
+            assertEquals(map.get(compiled.get(i)) * 400, counts[i], 1000);
+        }
+
+        assertNotNull(compiled.random());
+
+        map.put("extra", 1.0);
+        assertThrows(IllegalArgumentException.class, map::compile);
+    }
+
+}
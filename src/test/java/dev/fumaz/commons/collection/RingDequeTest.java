@@ -0,0 +1,95 @@
+package dev.fumaz.commons.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingDequeTest {
+
+    @Test
+    void pushEvictsOldest() {
+        RingDeque<Integer> deque = new RingDeque<>(3);
+
+        for (int i = 1; i <= 5; i++) {
+            deque.push(i);
+        }
+
+        assertEquals(3, deque.size());
+        assertTrue(deque.isFull());
+        assertEquals(Arrays.asList(5, 4, 3), new ArrayList<>(deque));
+        assertEquals(5, deque.pop());
+        assertEquals(3, deque.peekLast());
+    }
+
+    @Test
+    void addLastEvictsFirst() {
+        RingDeque<Integer> deque = new RingDeque<>(3);
+
+        for (int i = 1; i <= 5; i++) {
+            deque.addLast(i);
+        }
+
+        assertEquals(Arrays.asList(3, 4, 5), new ArrayList<>(deque));
+        assertEquals(4, deque.get(1));
+
+        List<Integer> descending = new ArrayList<>();
+        deque.descendingIterator().forEachRemaining(descending::add);
+        assertEquals(Arrays.asList(5, 4, 3), descending);
+    }
+
+    @Test
+    void remove() {
+        RingDeque<Integer> deque = new RingDeque<>(4);
+        deque.addAll(Arrays.asList(1, 2, 3, 4, 5));
+
+        assertTrue(deque.remove(Integer.valueOf(3)));
+        assertEquals(Arrays.asList(2, 4, 5), new ArrayList<>(deque));
+
+        Iterator<Integer> iterator = deque.iterator();
+
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(Arrays.asList(5), new ArrayList<>(deque));
+        assertEquals(5, deque.removeLast());
+        assertNull(deque.pollFirst());
+    }
+
+    @Test
+    void primitive() {
+        LongRingStack stack = new LongRingStack(3);
+
+        for (long i = 1; i <= 5; i++) {
+            stack.push(i);
+        }
+
+        assertArrayEquals(new long[]{5, 4, 3}, stack.toArray());
+        assertEquals(5, stack.pop());
+        assertEquals(4, stack.peek());
+        assertEquals(7, stack.stream().sum());
+    }
+
+    @Test
+    void singleProducer() {
+        SingleProducerRingStack<String> stack = new SingleProducerRingStack<>(2);
+        assertNull(stack.peek());
+
+        stack.push("a");
+        stack.push("b");
+        stack.push("c");
+
+        assertEquals("c", stack.peek());
+        assertEquals("b", stack.get(1));
+        assertNull(stack.get(2));
+        assertEquals(Arrays.asList("c", "b"), stack.snapshot());
+    }
+
+}
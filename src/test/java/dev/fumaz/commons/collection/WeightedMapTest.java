@@ -0,0 +1,111 @@
+package dev.fumaz.commons.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedMapTest {
+
+    @Test
+    void remove() {
+        WeightedMap<String> map = new WeightedMap<String>()
+                .put("a", 1)
+                .put("b", 2)
+                .put("c", 3);
+
+        assertTrue(map.remove("b"));
+        assertFalse(map.remove("b"));
+        assertEquals(4.0, map.getMap().lastKey(), 1e-9);
+        assertEquals("c", map.getMap().get(4.0));
+
+        for (int i = 0; i < 1000; i++) {
+            assertNotEquals("b", map.random());
+        }
+    }
+
+    @Test
+    void alias() {
+        AliasWeightedMap<String> map = new AliasWeightedMap<String>()
+                .put("common", 70)
+                .put("rare", 25)
+                .put("legendary", 5)
+                .put("removed", 1000);
+
+        assertTrue(map.remove("removed"));
+        assertEquals(100, map.getTotal(), 1e-9);
+
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            counts.merge(map.random(), 1, Integer::sum);
+        }
+
+        assertNull(counts.get("removed"));
+        assertEquals(70_000, counts.get("common"), 1500);
+        assertEquals(25_000, counts.get("rare"), 1500);
+        assertEquals(5_000, counts.get("legendary"), 800);
+    }
+
+    @Test
+    void dynamic() {
+        DynamicWeightedMap<Integer> map = new DynamicWeightedMap<>();
+
+        for (int i = 0; i < 20; i++) {
+            map.put(i, 1);
+        }
+
+        for (int i = 2; i < 20; i++) {
+            assertTrue(map.remove(i));
+        }
+
+        map.put(0, 3);
+        assertEquals(4, map.getTotal(), 1e-9);
+
+        Map<Integer, Integer> counts = new HashMap<>();
+
+        for (Integer element : map.sample(40_000)) {
+            counts.merge(element, 1, Integer::sum);
+        }
+
+        assertEquals(2, counts.size());
+        assertEquals(30_000, counts.get(0), 1000);
+
+        counts.clear();
+
+        for (int i = 0; i < 40_000; i++) {
+            counts.merge(map.random(), 1, Integer::sum);
+        }
+
+        assertEquals(10_000, counts.get(1), 1000);
+    }
+
+    @Test
+    void sampleDistinct() {
+        WeightedMap<String> map = new WeightedMap<String>()
+                .put("heavy", 1000)
+                .put("light", 1);
+
+        int heavyFirst = 0;
+
+        for (int i = 0; i < 1000; i++) {
+            List<String> sample = map.sampleDistinct(2);
+            assertEquals(2, sample.size());
+
+            if (sample.get(0).equals("heavy")) {
+                heavyFirst++;
+            }
+        }
+
+        assertTrue(heavyFirst > 950);
+
+        int[] counts = new int[2];
+        map.sampleInto(counts, 10_000);
+        assertEquals(10_000, counts[0] + counts[1]);
+        assertTrue(counts[0] > counts[1]);
+    }
+
+}
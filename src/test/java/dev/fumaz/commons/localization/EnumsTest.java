@@ -32,6 +32,8 @@ class EnumsTest {
     @org.junit.jupiter.api.Test
     void toList() {
         assertEquals(3, Enums.toList(TestEnum.class).size());
+        assertSame(Enums.toList(TestEnum.class), Enums.toList(TestEnum.class));
+        assertThrows(UnsupportedOperationException.class, () -> Enums.toList(TestEnum.class).clear());
     }
 
     // test Enums.getSensitiveValue()
@@ -0,0 +1,74 @@
+package dev.fumaz.commons.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rolling a chance through {@link Decimals} and {@link Randoms#nextPercentage(int)}
+ * against the fast paths of {@link Percentages} and a precompiled {@link Chance}.<br>
+ * Run with {@link #main(String[])} from the test classpath, the GC profiler
+ * reports the allocation rate of every benchmark as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChanceBenchmark {
+
+    @Param({"25", "12.5"})
+    private double percentage;
+
+    private Chance chance;
+    private Xoshiro256StarStar xoshiro;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ChanceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        chance = Chance.lowerThan(percentage);
+        xoshiro = new Xoshiro256StarStar(1);
+    }
+
+    @Benchmark
+    public boolean decimals() {
+        return Randoms.nextPercentage(Decimals.getDecimalPlaces(percentage)) < percentage;
+    }
+
+    @Benchmark
+    public boolean percentages() {
+        return Percentages.isLowerThan(percentage);
+    }
+
+    @Benchmark
+    public boolean chance() {
+        return chance.roll();
+    }
+
+    @Benchmark
+    public boolean chanceXoshiro() {
+        return chance.roll(xoshiro);
+    }
+
+}
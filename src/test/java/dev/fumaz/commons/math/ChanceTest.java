@@ -0,0 +1,89 @@
+package dev.fumaz.commons.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChanceTest {
+
+    private static final int ROLLS = 200_000;
+
+    private static double frequency(BooleanSupplier roll) {
+        int successes = 0;
+
+        for (int i = 0; i < ROLLS; i++) {
+            if (roll.getAsBoolean()) {
+                successes++;
+            }
+        }
+
+        return (double) successes / ROLLS;
+    }
+
+    @Test
+    void bounds() {
+        RandomSource random = new Xoshiro256StarStar(1);
+
+        assertEquals(0, frequency(() -> Chance.of(0).roll(random)));
+        assertEquals(1, frequency(() -> Chance.of(100).roll(random)));
+        assertEquals(1, frequency(() -> Chance.ofProbability(1).roll(random)));
+    }
+
+    @Test
+    void frequency() {
+        Chance chance = Chance.of(25);
+        RandomSource random = new Xoshiro256StarStar(2);
+
+        assertEquals(0.25, chance.getProbability());
+        assertEquals(0.25, frequency(() -> chance.roll(random)), 0.01);
+        assertEquals(0.003, frequency(() -> Chance.ofProbability(0.003).roll(random)), 0.001);
+    }
+
+    @Test
+    void percentages() {
+        // A whole chance rolls one of the 101 percentages between 0 and 100
+        assertEquals(50.0 / 101, Chance.lowerThan(50).getProbability(), 1e-12);
+        assertEquals(51.0 / 101, Chance.atMost(50).getProbability(), 1e-12);
+        assertEquals(50.0 / 101, Chance.higherThan(50).getProbability(), 1e-12);
+        assertEquals(51.0 / 101, Chance.atLeast(50).getProbability(), 1e-12);
+        assertEquals(1.0 / 101, Chance.exactly(50).getProbability(), 1e-12);
+
+        // A chance with decimals rolls percentages with as many decimals
+        assertEquals(5.0 / 1001, Chance.higherThan(99.5).getProbability(), 1e-12);
+        assertEquals(1.0 / 100_001, Chance.exactly(0.125).getProbability(), 1e-12);
+
+        assertEquals(0, Chance.lowerThan(-5).getProbability());
+        assertEquals(1, Chance.lowerThan(150).getProbability());
+        assertEquals(0, Chance.exactly(150).getProbability());
+    }
+
+    @Test
+    void fastPaths() {
+        assertEquals(Chance.lowerThan(30).getProbability(), frequency(() -> Percentages.isLowerThan(30)), 0.01);
+        assertEquals(Chance.higherThan(30).getProbability(), frequency(() -> Percentages.isHigherThan(30)), 0.01);
+        assertEquals(Chance.atLeast(30).getProbability(), frequency(() -> Percentages.isAtLeast(30)), 0.01);
+        assertEquals(Chance.atMost(30).getProbability(), frequency(() -> Percentages.isAtMost(30)), 0.01);
+        assertEquals(Chance.exactly(30).getProbability(), frequency(() -> Percentages.isExactly(30)), 0.005);
+
+        assertFalse(Percentages.isLowerThan(0));
+        assertTrue(Percentages.isAtMost(100));
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> Chance.of(-1));
+        assertThrows(IllegalArgumentException.class, () -> Chance.of(100.5));
+        assertThrows(IllegalArgumentException.class, () -> Chance.ofProbability(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Percentages.isLowerThan(Double.NaN));
+    }
+
+    @Test
+    void equality() {
+        assertEquals(Chance.of(50), Chance.ofProbability(0.5));
+        assertEquals(Chance.of(50).hashCode(), Chance.ofProbability(0.5).hashCode());
+        assertNotEquals(Chance.of(50), Chance.of(51));
+    }
+
+}
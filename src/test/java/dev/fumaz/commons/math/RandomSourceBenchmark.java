@@ -0,0 +1,84 @@
+package dev.fumaz.commons.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link RandomSource} generators with {@link ThreadLocalRandom},
+ * both for raw values and for bounded integers.<br>
+ * Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomSourceBenchmark {
+
+    private static final int BOUND = 1000;
+
+    private final SplitMix64 splitMix = new SplitMix64(1);
+    private final Xoshiro256StarStar xoshiro = new Xoshiro256StarStar(1);
+    private final Pcg32 pcg = new Pcg32(1);
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RandomSourceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Benchmark
+    public long threadLocalRandomLong() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    @Benchmark
+    public long splitMixLong() {
+        return splitMix.nextLong();
+    }
+
+    @Benchmark
+    public long xoshiroLong() {
+        return xoshiro.nextLong();
+    }
+
+    @Benchmark
+    public long pcgLong() {
+        return pcg.nextLong();
+    }
+
+    @Benchmark
+    public int threadLocalRandomBounded() {
+        return ThreadLocalRandom.current().nextInt(BOUND);
+    }
+
+    @Benchmark
+    public int splitMixBounded() {
+        return splitMix.nextInt(BOUND);
+    }
+
+    @Benchmark
+    public int xoshiroBounded() {
+        return xoshiro.nextInt(BOUND);
+    }
+
+    @Benchmark
+    public int pcgBounded() {
+        return pcg.nextInt(BOUND);
+    }
+
+}
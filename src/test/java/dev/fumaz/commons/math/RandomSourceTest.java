@@ -0,0 +1,70 @@
+package dev.fumaz.commons.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomSourceTest {
+
+    @Test
+    void splitMix64() {
+        // Reference output of SplitMix64 seeded with 0
+        assertEquals(0xE220A8397B1DCDAFL, new SplitMix64(0).nextLong());
+    }
+
+    @Test
+    void reproducible() {
+        List<SplittableRandomSource> first = Arrays.asList(new SplitMix64(42), new Xoshiro256StarStar(42), new Pcg32(42));
+        List<SplittableRandomSource> second = Arrays.asList(new SplitMix64(42), new Xoshiro256StarStar(42), new Pcg32(42));
+
+        for (int i = 0; i < first.size(); i++) {
+            for (int j = 0; j < 100; j++) {
+                assertEquals(first.get(i).nextLong(), second.get(i).nextLong());
+            }
+
+            assertNotEquals(first.get(i).split().nextLong(), first.get(i).split().nextLong());
+        }
+    }
+
+    @Test
+    void bounded() {
+        RandomSource random = new Xoshiro256StarStar(7);
+        int[] counts = new int[6];
+
+        for (int i = 0; i < 60_000; i++) {
+            counts[random.nextInt(6)]++;
+
+            int value = random.nextInt(-5, 5);
+            assertTrue(value >= -5 && value < 5);
+
+            double fraction = random.nextDouble();
+            assertTrue(fraction >= 0 && fraction < 1);
+        }
+
+        for (int count : counts) {
+            assertEquals(10_000, count, 500);
+        }
+
+        assertEquals(Integer.MIN_VALUE, random.nextInt(Integer.MIN_VALUE, Integer.MIN_VALUE + 1));
+        assertThrows(IllegalArgumentException.class, () -> random.nextInt(0));
+    }
+
+    @Test
+    void parallelStream() {
+        assertEquals(100_000, new SplitMix64(1).ints(100_000, 0, 10).parallel().filter(i -> i >= 0 && i < 10).count());
+        assertEquals(1000, new Pcg32(1).doubles(1000).distinct().count());
+    }
+
+    @Test
+    void randoms() {
+        List<String> list = Arrays.asList("a", "b", "c");
+
+        assertEquals(Randoms.choice(new Pcg32(3), list), Randoms.choice(new Pcg32(3), list));
+        assertEquals(Randoms.nextPercentage(new SplitMix64(3), 2), Randoms.nextPercentage(new SplitMix64(3), 2));
+        assertEquals(3, Randoms.sample(new SplitMix64(5), list, 3).size());
+    }
+
+}
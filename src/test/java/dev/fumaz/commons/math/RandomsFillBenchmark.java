@@ -0,0 +1,86 @@
+package dev.fumaz.commons.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares filling arrays with {@link Randoms#fill} against collecting the streams of {@link Randoms}.<br>
+ * Run with {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomsFillBenchmark {
+
+    @Param({"1024", "1048576"})
+    private int size;
+
+    private int[] ints;
+    private double[] doubles;
+    private Xoshiro256StarStar xoshiro;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RandomsFillBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @Setup
+    public void setup() {
+        ints = new int[size];
+        doubles = new double[size];
+        xoshiro = new Xoshiro256StarStar(1);
+    }
+
+    @Benchmark
+    public int[] intStream() {
+        return Randoms.ints(size, 0, 1000).toArray();
+    }
+
+    @Benchmark
+    public int[] intFill() {
+        Randoms.fill(ints, 0, 1000);
+        return ints;
+    }
+
+    @Benchmark
+    public int[] intFillXoshiro() {
+        Randoms.fill(xoshiro, ints, 0, 1000);
+        return ints;
+    }
+
+    @Benchmark
+    public int[] intParallelFillXoshiro() {
+        Randoms.parallelFill(xoshiro, ints, 0, 1000);
+        return ints;
+    }
+
+    @Benchmark
+    public double[] doubleStream() {
+        return Randoms.doubles(size).toArray();
+    }
+
+    @Benchmark
+    public double[] doubleFill() {
+        Randoms.fill(doubles);
+        return doubles;
+    }
+
+}
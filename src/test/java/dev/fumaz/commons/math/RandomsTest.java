@@ -0,0 +1,107 @@
+package dev.fumaz.commons.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomsTest {
+
+    @Test
+    void fillInts() {
+        int[] small = new int[1000];
+        int[] large = new int[200_000];
+
+        Randoms.fill(small, -3, 3);
+        Randoms.fill(large, 0, 10);
+
+        assertTrue(Arrays.stream(small).allMatch(i -> i >= -3 && i < 3));
+        assertTrue(Arrays.stream(large).allMatch(i -> i >= 0 && i < 10));
+        assertEquals(4.5, Arrays.stream(large).average().orElse(0), 0.05);
+
+        Randoms.fill(small, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> Randoms.fill(small, 1, 1));
+    }
+
+    @Test
+    void fillDoubles() {
+        double[] values = new double[100_000];
+
+        Randoms.fill(values);
+        assertTrue(Arrays.stream(values).allMatch(d -> d >= 0 && d < 1));
+
+        Randoms.fill(new SplitMix64(1), values, 5, 6);
+        assertTrue(Arrays.stream(values).allMatch(d -> d >= 5 && d < 6));
+    }
+
+    @Test
+    void parallelFillIsReproducible() {
+        int[] first = new int[300_000];
+        int[] second = new int[300_000];
+
+        Randoms.parallelFill(new Xoshiro256StarStar(9), first, 0, 1000);
+        Randoms.parallelFill(new Xoshiro256StarStar(9), second, 0, 1000);
+
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    void sample() {
+        List<Integer> list = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+        for (int amount : new int[]{0, 5, 60, 100}) {
+            Collection<Integer> sample = Randoms.sample(list, amount);
+            assertEquals(amount, sample.size());
+            assertEquals(amount, new HashSet<>(sample).size());
+        }
+
+        List<Integer> ordered = Randoms.sample(new SplitMix64(1), list, 10, true);
+        assertEquals(ordered.stream().sorted().collect(Collectors.toList()), ordered);
+
+        assertThrows(IllegalArgumentException.class, () -> Randoms.sample(list, 101));
+    }
+
+    @Test
+    void sampleWithDuplicates() {
+        List<String> list = Arrays.asList("a", "a", "a", "b");
+
+        // Every position is picked, so this used to never finish
+        Collection<String> sample = Randoms.sample(list, 4);
+        assertEquals(4, sample.size());
+        assertEquals(3, sample.stream().filter("a"::equals).count());
+    }
+
+    @Test
+    void reservoir() {
+        Set<Integer> set = new LinkedHashSet<>();
+
+        for (int i = 0; i < 1000; i++) {
+            set.add(i);
+        }
+
+        List<Integer> ordered = Randoms.sample(new Pcg32(2), set, 20, true);
+        assertEquals(20, new HashSet<>(ordered).size());
+        assertEquals(ordered.stream().sorted().collect(Collectors.toList()), ordered);
+
+        int[] counts = new int[10];
+
+        for (int i = 0; i < 10_000; i++) {
+            for (int value : Randoms.sample(IntStream.range(0, 10).boxed(), 3)) {
+                counts[value]++;
+            }
+        }
+
+        for (int count : counts) {
+            assertEquals(3000, count, 300);
+        }
+    }
+
+}
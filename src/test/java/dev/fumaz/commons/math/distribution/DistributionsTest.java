@@ -0,0 +1,127 @@
+package dev.fumaz.commons.math.distribution;
+
+import dev.fumaz.commons.math.RandomSource;
+import dev.fumaz.commons.math.Xoshiro256StarStar;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.DoubleSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistributionsTest {
+
+    private static final int SAMPLES = 200_000;
+
+    private static double[] moments(DoubleSupplier supplier) {
+        double sum = 0;
+        double squares = 0;
+
+        for (int i = 0; i < SAMPLES; i++) {
+            double value = supplier.getAsDouble();
+            sum += value;
+            squares += value * value;
+        }
+
+        double mean = sum / SAMPLES;
+        return new double[]{mean, squares / SAMPLES - mean * mean};
+    }
+
+    private static void assertMoments(double mean, double variance, double[] moments) {
+        assertEquals(mean, moments[0], 0.02 * Math.max(1, Math.abs(mean)));
+        assertEquals(variance, moments[1], 0.05 * Math.max(1, variance));
+    }
+
+    @Test
+    void normal() {
+        RandomSource random = new Xoshiro256StarStar(1);
+
+        assertMoments(0, 1, moments(() -> NormalDistribution.standard(random)));
+        assertMoments(5, 4, moments(() -> new NormalDistribution(5, 2).sample(random)));
+    }
+
+    @Test
+    void exponential() {
+        RandomSource random = new Xoshiro256StarStar(2);
+        ExponentialDistribution distribution = new ExponentialDistribution(0.5);
+
+        assertMoments(2, 4, moments(() -> distribution.sample(random)));
+    }
+
+    @Test
+    void geometric() {
+        RandomSource random = new Xoshiro256StarStar(3);
+        GeometricDistribution distribution = new GeometricDistribution(0.25);
+
+        // Amount of failures before the first success
+        assertMoments(3, 12, moments(() -> distribution.sample(random)));
+        assertEquals(0, new GeometricDistribution(1).sample(random));
+    }
+
+    @Test
+    void poisson() {
+        RandomSource random = new Xoshiro256StarStar(4);
+
+        for (double mean : new double[]{0.5, 4, 30, 1000}) {
+            PoissonDistribution distribution = new PoissonDistribution(mean);
+            assertMoments(mean, mean, moments(() -> distribution.sample(random)));
+        }
+    }
+
+    @Test
+    void binomial() {
+        RandomSource random = new Xoshiro256StarStar(5);
+        int[][] trials = {{10, 30}, {100, 5}, {1000, 50}, {1000, 95}};
+
+        for (int[] parameters : trials) {
+            int n = parameters[0];
+            double p = parameters[1] / 100.0;
+            BinomialDistribution distribution = new BinomialDistribution(n, p);
+
+            assertMoments(n * p, n * p * (1 - p), moments(() -> distribution.sample(random)));
+        }
+
+        assertEquals(7, new BinomialDistribution(7, 1).sample(random));
+        assertEquals(0, new BinomialDistribution(7, 0).sample(random));
+    }
+
+    @Test
+    void zipf() {
+        RandomSource random = new Xoshiro256StarStar(6);
+        ZipfDistribution distribution = new ZipfDistribution(10, 1);
+        int[] counts = new int[11];
+
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[distribution.sample(random)]++;
+        }
+
+        double harmonic = 0;
+
+        for (int k = 1; k <= 10; k++) {
+            harmonic += 1.0 / k;
+        }
+
+        assertEquals(0, counts[0]);
+
+        for (int k = 1; k <= 10; k++) {
+            assertEquals(SAMPLES / (k * harmonic), counts[k], SAMPLES * 0.005);
+        }
+    }
+
+    @Test
+    void streams() {
+        assertEquals(100, new PoissonDistribution(3).samples(100).count());
+        assertTrue(new ZipfDistribution(5, 1.5).samples(1000).parallel().allMatch(k -> k >= 1 && k <= 5));
+        assertTrue(new ExponentialDistribution(1).samples(1000).allMatch(x -> x >= 0));
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new NormalDistribution(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> new ExponentialDistribution(0));
+        assertThrows(IllegalArgumentException.class, () -> new GeometricDistribution(0));
+        assertThrows(IllegalArgumentException.class, () -> new PoissonDistribution(-1));
+        assertThrows(IllegalArgumentException.class, () -> new BinomialDistribution(10, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1));
+    }
+
+}